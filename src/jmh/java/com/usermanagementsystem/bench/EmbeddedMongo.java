@@ -0,0 +1,155 @@
+package com.usermanagementsystem.bench;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.ReadRouting;
+import com.usermanagementsystem.repository.UserIndexMigration;
+import com.usermanagementsystem.repository.UserRepository;
+import com.usermanagementsystem.repository.UserRepositoryCustomImpl;
+import com.usermanagementsystem.search.UserSearchTokenCallback;
+import de.flapdoodle.embed.mongo.commands.MongodArguments;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.config.Storage;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import de.flapdoodle.reverse.transitions.Start;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.springframework.data.mapping.callback.EntityCallbacks;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-process mongod for benchmarks, wired the same way the application wires
+ * the repository: custom fragment, search token callback and declared indexes.
+ * Optionally started as a single-node replica set, the smallest setup on which
+ * read preferences and max staleness are honoured rather than ignored.
+ */
+public final class EmbeddedMongo implements AutoCloseable {
+
+    private static final UserStatus[] STATUSES = UserStatus.values();
+
+    private final TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+
+    private final MongoClient client;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final UserRepository userRepository;
+
+    private final String uri;
+
+    private static final String DATABASE = "usermanagement_bench";
+
+    private static final String REPLICA_SET = "rs0";
+
+    public EmbeddedMongo() {
+        this(false, ReadRouting.primaryOnly(new SimpleMeterRegistry()));
+    }
+
+    public EmbeddedMongo(boolean replicaSet, ReadRouting readRouting) {
+
+        Mongod instance = Mongod.instance();
+
+        if (replicaSet) {
+            instance = instance.withMongodArguments(Start.to(MongodArguments.class)
+                    .initializedWith(MongodArguments.defaults().withReplication(Storage.of(REPLICA_SET, 0))));
+        }
+
+        mongod = instance.start(Version.Main.V7_0);
+
+        ServerAddress address = mongod.current().getServerAddress();
+        String hostAndPort = address.getHost() + ":" + address.getPort();
+
+        if (replicaSet) {
+            initiateReplicaSet(hostAndPort);
+            uri = "mongodb://" + hostAndPort + "/" + DATABASE + "?replicaSet=" + REPLICA_SET;
+        } else {
+            uri = "mongodb://" + hostAndPort + "/" + DATABASE;
+        }
+
+        client = MongoClients.create(uri);
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        mongoTemplate.setEntityCallbacks(EntityCallbacks.create(new UserSearchTokenCallback()));
+
+        // Same migration a deploy runs, auto index creation is off
+        new UserIndexMigration(mongoTemplate).migrate();
+
+        userRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(
+                UserRepository.class,
+                RepositoryFragments.just(new UserRepositoryCustomImpl(mongoTemplate, readRouting))
+        );
+    }
+
+    // Connection string including the database, for starting the application against this mongod
+    public String uri() {
+        return uri;
+    }
+
+    public MongoTemplate mongoTemplate() {
+        return mongoTemplate;
+    }
+
+    public UserRepository userRepository() {
+        return userRepository;
+    }
+
+    // Inserts count users with distinct, searchable names and ascending createdAt
+    public List<String> seed(int count) {
+
+        mongoTemplate.remove(new Query(), User.class);
+
+        List<String> ids = new ArrayList<>(count);
+        List<User> batch = new ArrayList<>(1000);
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+
+        for (int i = 0; i < count; i++) {
+            batch.add(User.builder()
+                    .name("user" + i + " " + Integer.toHexString(i * 31))
+                    .email("user" + i + "@bench.io")
+                    .status(STATUSES[i % STATUSES.length])
+                    .createdAt(start.plusSeconds(i))
+                    .updatedAt(start.plusSeconds(i))
+                    .build());
+
+            if (batch.size() == 1000 || i == count - 1) {
+                mongoTemplate.insert(batch, User.class).forEach(user -> ids.add(user.getId()));
+                batch.clear();
+            }
+        }
+
+        return ids;
+    }
+
+    // Waits until the single member has become primary, otherwise the first write fails
+    private static void initiateReplicaSet(String hostAndPort) {
+
+        try (MongoClient direct = MongoClients.create("mongodb://" + hostAndPort + "/?directConnection=true")) {
+            direct.getDatabase("admin").runCommand(new Document("replSetInitiate", new Document("_id", REPLICA_SET)
+                    .append("members", List.of(new Document("_id", 0).append("host", hostAndPort)))));
+
+            while (!direct.getDatabase("admin").runCommand(new Document("hello", 1)).getBoolean("isWritablePrimary", false)) {
+                Thread.sleep(100);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the replica set primary", ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        mongod.close();
+    }
+}
@@ -0,0 +1,95 @@
+package com.usermanagementsystem.controller;
+
+import com.usermanagementsystem.dto.UserListResponse;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.exception.GlobalExceptionHandler;
+import com.usermanagementsystem.service.BulkImportService;
+import com.usermanagementsystem.service.UserExportService;
+import com.usermanagementsystem.service.UserService;
+import com.usermanagementsystem.util.ETags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Full MVC round trip (routing, argument binding, Jackson) with a stubbed service,
+ * so the number isolates the web layer from Mongo. The NotModified variants send a
+ * matching If-None-Match and measure the 304 path that skips serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ControllerBenchmark {
+
+    private MockMvc mockMvc;
+
+    private String listETag;
+
+    @Setup
+    public void setUp() {
+        UserResponse user = UserResponse.builder()
+                .id("65f000000000000000000001")
+                .name("Sai")
+                .email("sai@bench.io")
+                .status(UserStatus.ACTIVE)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .version(1L)
+                .build();
+
+        UserService userService = mock(UserService.class);
+        when(userService.getUserById(any())).thenReturn(user);
+        when(userService.getUserById(any(), any())).thenReturn(user);
+        UserListResponse page = UserListResponse.builder()
+                .items(List.of(user, user, user, user, user, user, user, user, user, user))
+                .page(0)
+                .size(10)
+                .hasNext(true)
+                .build();
+
+        when(userService.getUsers(anyInt(), anyInt(), any(), any(), any(), any(), any(), anyBoolean()))
+                .thenReturn(page);
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new UserController(userService, mock(BulkImportService.class), mock(UserExportService.class)))
+                .setControllerAdvice(new GlobalExceptionHandler(new SimpleMeterRegistry()))
+                .build();
+
+        listETag = ETags.ofPage(page);
+    }
+
+    @Benchmark
+    public MvcResult getUserById() throws Exception {
+        return mockMvc.perform(get("/api/users/65f000000000000000000001")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getUserByIdNotModified() throws Exception {
+        return mockMvc.perform(get("/api/users/65f000000000000000000001").header("If-None-Match", "\"1\"")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult listUsers() throws Exception {
+        return mockMvc.perform(get("/api/users").param("page", "0").param("size", "10")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult listUsersNotModified() throws Exception {
+        return mockMvc.perform(get("/api/users").param("page", "0").param("size", "10")
+                .header("If-None-Match", listETag)).andReturn();
+    }
+}
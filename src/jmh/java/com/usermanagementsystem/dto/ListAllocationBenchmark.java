@@ -0,0 +1,135 @@
+package com.usermanagementsystem.dto;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.mapper.UserMapper;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.search.SearchTokenizer;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One list response from decoded Mongo documents to JSON bytes, the way the list
+ * endpoint built it before (User entity, builder mapping, Spring Data Page, bean
+ * serializer) and the way it does now (documents read straight into UserResponse,
+ * UserListResponse, field-by-field serializer). Run with the gc profiler and compare
+ * gc.alloc.rate.norm, the bytes allocated per request:
+ * <pre>./gradlew jmh -PjmhIncludes=ListAllocationBenchmark -PjmhProfilers=gc</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListAllocationBenchmark {
+
+    // The bean serializer UserResponseSerializer replaces
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface BeanSerialized {
+    }
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private MappingMongoConverter converter;
+
+    private ObjectMapper objectMapper;
+
+    private ObjectMapper beanMapper;
+
+    // Whole documents, as the entity read fetched them
+    private List<Document> documents;
+
+    // Only UserResponse properties, as the DTO projection fetches them
+    private List<Document> projected;
+
+    @Setup
+    public void setUp() {
+
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        beanMapper = objectMapper.copy().addMixIn(UserResponse.class, BeanSerialized.class);
+
+        documents = new ArrayList<>(pageSize);
+        projected = new ArrayList<>(pageSize);
+
+        for (int i = 0; i < pageSize; i++) {
+            String name = "user" + i;
+            String email = "user" + i + "@bench.io";
+            Date now = Date.from(Instant.now());
+
+            Document document = new Document("_id", new ObjectId())
+                    .append("name", name)
+                    .append("email", email)
+                    .append("status", UserStatus.ACTIVE.name())
+                    .append("createdAt", now)
+                    .append("updatedAt", now)
+                    .append("version", 1L);
+
+            projected.add(document);
+            documents.add(new Document(document)
+                    .append("searchTokens", SearchTokenizer.indexTokens(name, email))
+                    .append("_class", User.class.getName()));
+        }
+    }
+
+    @Benchmark
+    public byte[] entityPage() throws Exception {
+
+        List<UserResponse> users = new ArrayList<>(pageSize);
+        for (Document document : documents) {
+            users.add(UserMapper.toResponse(converter.read(User.class, document)));
+        }
+
+        PageImpl<UserResponse> page = new PageImpl<>(
+                users, PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt", "id")), 1_000_000);
+
+        return beanMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] leanList() throws Exception {
+
+        List<UserResponse> users = new ArrayList<>(pageSize);
+        for (Document document : projected) {
+            users.add(converter.read(UserResponse.class, document));
+        }
+
+        return objectMapper.writeValueAsBytes(
+                UserListResponse.builder().items(users).page(0).size(pageSize).hasNext(true).build());
+    }
+
+    // Same as leanList with the bean serializer, isolates what the hand-written one saves
+    @Benchmark
+    public byte[] leanListBeanSerializer() throws Exception {
+
+        List<UserResponse> users = new ArrayList<>(pageSize);
+        for (Document document : projected) {
+            users.add(converter.read(UserResponse.class, document));
+        }
+
+        return beanMapper.writeValueAsBytes(
+                UserListResponse.builder().items(users).page(0).size(pageSize).hasNext(true).build());
+    }
+}
@@ -0,0 +1,65 @@
+package com.usermanagementsystem.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.usermanagementsystem.enums.UserStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private Page<UserResponse> page;
+
+    // Same page after fields=id,name
+    private Page<UserResponse> sparsePage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        List<UserResponse> users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            users.add(UserResponse.builder()
+                    .id("65f0000000000000000" + String.format("%05d", i))
+                    .name("user" + i)
+                    .email("user" + i + "@bench.io")
+                    .status(UserStatus.ACTIVE)
+                    .createdAt(Instant.now())
+                    .updatedAt(Instant.now())
+                    .version(1L)
+                    .build());
+        }
+
+        page = new PageImpl<>(users, PageRequest.of(0, pageSize), 1_000_000);
+
+        sparsePage = page.map(user -> UserResponse.builder().id(user.getId()).name(user.getName()).build());
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeSparsePage() throws Exception {
+        return objectMapper.writeValueAsBytes(sparsePage);
+    }
+}
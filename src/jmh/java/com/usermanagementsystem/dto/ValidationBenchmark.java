@@ -0,0 +1,44 @@
+package com.usermanagementsystem.dto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmark {
+
+    private Validator validator;
+
+    private CreateUserRequest valid;
+
+    private CreateUserRequest invalid;
+
+    @Setup
+    public void setUp() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        valid = new CreateUserRequest();
+        valid.setName("Sai");
+        valid.setEmail("sai@bench.io");
+
+        invalid = new CreateUserRequest();
+        invalid.setName("");
+        invalid.setEmail("not-an-email");
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateUserRequest>> validRequest() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateUserRequest>> invalidRequest() {
+        return validator.validate(invalid);
+    }
+}
@@ -0,0 +1,53 @@
+package com.usermanagementsystem.load;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Closed-model load: a fixed number of clients, each on its own virtual thread and
+ * connection, sends its next request as soon as the previous one returns. That keeps
+ * exactly load.concurrency requests open against the server, which is what comparing
+ * thread models needs; throughput is the outcome here, not the input.
+ * <p>
+ * Latency is measured from the send. A client waiting on a slow response does not
+ * send meanwhile, so queueing is partly hidden (coordinated omission) and these
+ * numbers only compare with other closed-model runs, never with open-model ones.
+ */
+final class ClosedModelGenerator implements LoadGenerator {
+
+    private final HttpClient client;
+
+    private final TrafficMix mix;
+
+    private final int concurrency;
+
+    ClosedModelGenerator(HttpClient client, TrafficMix mix, int concurrency) {
+        this.client = client;
+        this.mix = mix;
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public Map<Operation, EndpointStats> run(Duration duration) throws InterruptedException {
+
+        Map<Operation, EndpointStats> stats = EndpointStats.perOperation();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            for (int i = 0; i < concurrency; i++) {
+                executor.execute(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        Operation operation = mix.nextOperation();
+                        OpenModelGenerator.send(client, mix.request(operation), System.nanoTime(), stats.get(operation));
+                    }
+                });
+            }
+        }
+
+        return stats;
+    }
+}
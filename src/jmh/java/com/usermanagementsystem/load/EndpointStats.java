@@ -0,0 +1,55 @@
+package com.usermanagementsystem.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and error count of one endpoint. Latencies are microseconds from
+ * the moment the request was due, not from when it was sent, so a stalled server
+ * shows up in the tail instead of silently lowering the request rate.
+ */
+final class EndpointStats {
+
+    // Anything slower than a minute is a timeout and counted as an error anyway
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram latencies = new ConcurrentHistogram(1, HIGHEST_MICROS, 3);
+
+    private final LongAdder errors = new LongAdder();
+
+    // One empty instance per endpoint, the map is only read while a run records into it
+    static Map<Operation, EndpointStats> perOperation() {
+
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+
+        return stats;
+    }
+
+    void recordSuccess(long latencyNanos) {
+        latencies.recordValue(Math.min(HIGHEST_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos))));
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    long successes() {
+        return latencies.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
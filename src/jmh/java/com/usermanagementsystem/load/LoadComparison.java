@@ -0,0 +1,103 @@
+package com.usermanagementsystem.load;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Puts the summaries of several load runs side by side in one Markdown table:
+ * throughput, errors and p50/p99/p99.9 per endpoint. Arguments are the output file
+ * followed by label=summary.properties pairs, one column each in the order given.
+ * ./gradlew compareThreadModels uses it for docs/load/thread-models.md.
+ */
+public final class LoadComparison {
+
+    private LoadComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: LoadComparison <output.md> <label>=<summary.properties>...");
+        }
+
+        Map<String, Properties> runs = new LinkedHashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            int split = args[i].indexOf('=');
+            runs.put(args[i].substring(0, split), load(Path.of(args[i].substring(split + 1))));
+        }
+
+        Path output = Path.of(args[0]);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+
+        try (Writer writer = Files.newBufferedWriter(output)) {
+            writer.write(table(runs));
+        }
+    }
+
+    private static String table(Map<String, Properties> runs) {
+
+        Properties first = runs.values().iterator().next();
+        StringBuilder out = new StringBuilder();
+
+        out.append("# Load comparison\n\n")
+                .append("Generated by `./gradlew compareThreadModels` on ").append(LocalDate.now())
+                .append(", Java ").append(System.getProperty("java.version"))
+                .append(", ").append(Runtime.getRuntime().availableProcessors()).append(" cores, ")
+                .append(System.getProperty("os.name")).append(".\n")
+                .append("Load: ").append(offered(first)).append(", production mix, in-process mongod.\n")
+                .append("Latencies in milliseconds, from the ")
+                .append(first.getProperty("concurrency") != null ? "send (closed model)" : "scheduled arrival (open model)")
+                .append(".\n\n");
+
+        out.append('|');
+        runs.keySet().forEach(label -> out.append(" | ").append(label));
+        out.append(" |\n|---");
+        runs.keySet().forEach(label -> out.append("|---:"));
+        out.append("|\n");
+
+        row(out, "throughput (req/s)", runs, run -> "%.0f".formatted(Double.parseDouble(run.getProperty("throughput"))));
+        row(out, "errors", runs, run -> run.getProperty("errors"));
+
+        for (Operation operation : Operation.values()) {
+            String label = operation.label();
+            row(out, label + " p50 / p99 / p99.9", runs, run -> "%s / %s / %s".formatted(
+                    millis(run, label + ".p50.us"), millis(run, label + ".p99.us"), millis(run, label + ".p999.us")));
+        }
+
+        return out.toString();
+    }
+
+    private static void row(StringBuilder out, String name, Map<String, Properties> runs,
+                            Function<Properties, String> value) {
+        out.append("| ").append(name);
+        runs.values().forEach(run -> out.append(" | ").append(value.apply(run)));
+        out.append(" |\n");
+    }
+
+    private static String offered(Properties run) {
+        String concurrency = run.getProperty("concurrency");
+        return concurrency != null ? concurrency + " open requests" : run.getProperty("rate") + " req/s offered";
+    }
+
+    private static String millis(Properties run, String key) {
+        return "%.1f".formatted(Long.parseLong(run.getProperty(key)) / 1000.0);
+    }
+
+    private static Properties load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,14 @@
+package com.usermanagementsystem.load;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Offers the traffic mix to the server for a while, see {@link OpenModelGenerator}
+ * (fixed arrival rate) and {@link ClosedModelGenerator} (fixed number of open requests).
+ */
+interface LoadGenerator {
+
+    // Runs for the given time and returns per-endpoint stats; in-flight requests are awaited
+    Map<Operation, EndpointStats> run(Duration duration) throws InterruptedException;
+}
@@ -0,0 +1,96 @@
+package com.usermanagementsystem.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Load run settings, read from load.* system properties (the loadTest task passes
+ * every -Pload.* project property through). Durations use the Spring Boot format.
+ * <ul>
+ *   <li>load.rate: arrivals per second (500), load.warmup (20s), load.duration (60s)</li>
+ *   <li>load.concurrency: when above 0, keep this many requests open instead of a fixed rate (0)</li>
+ *   <li>load.users: users seeded before the run (100000), load.zipf-exponent (0.99)</li>
+ *   <li>load.slo.&lt;endpoint&gt;.p99: p99 latency budget per endpoint label</li>
+ *   <li>load.slo.min-throughput: share of load.rate that must complete (0.95)</li>
+ *   <li>load.slo.max-error-rate: share of requests allowed to fail (0.001)</li>
+ *   <li>load.baseline: summary.properties of an earlier run, load.baseline.tolerance (0.2)</li>
+ *   <li>load.app.*: passed to the application with the prefix removed</li>
+ * </ul>
+ */
+record LoadSettings(
+        int rate,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        int users,
+        double zipfExponent,
+        Map<Operation, Duration> p99Budgets,
+        double minThroughput,
+        double maxErrorRate,
+        Path baseline,
+        double baselineTolerance,
+        Path reportDir,
+        Map<String, String> appProperties
+) {
+
+    private static final String APP_PREFIX = "load.app.";
+
+    // Budgets for a local mongod; a run on slower hardware overrides them
+    private static final Map<Operation, Duration> DEFAULT_P99 = Map.of(
+            Operation.GET, Duration.ofMillis(20),
+            Operation.LIST, Duration.ofMillis(50),
+            Operation.SEARCH, Duration.ofMillis(100),
+            Operation.STATUS, Duration.ofMillis(50),
+            Operation.CREATE, Duration.ofMillis(50)
+    );
+
+    static LoadSettings fromSystemProperties() {
+
+        Map<Operation, Duration> budgets = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            budgets.put(operation, duration("load.slo." + operation.label() + ".p99", DEFAULT_P99.get(operation)));
+        }
+
+        String baseline = System.getProperty("load.baseline");
+
+        Map<String, String> appProperties = new TreeMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(APP_PREFIX))
+                .forEach(name -> appProperties.put(name.substring(APP_PREFIX.length()), System.getProperty(name)));
+
+        return new LoadSettings(
+                Integer.parseInt(System.getProperty("load.rate", "500")),
+                Integer.parseInt(System.getProperty("load.concurrency", "0")),
+                duration("load.warmup", Duration.ofSeconds(20)),
+                duration("load.duration", Duration.ofSeconds(60)),
+                Integer.parseInt(System.getProperty("load.users", "100000")),
+                Double.parseDouble(System.getProperty("load.zipf-exponent", "0.99")),
+                budgets,
+                Double.parseDouble(System.getProperty("load.slo.min-throughput", "0.95")),
+                Double.parseDouble(System.getProperty("load.slo.max-error-rate", "0.001")),
+                baseline == null || baseline.isBlank() ? null : Path.of(baseline),
+                Double.parseDouble(System.getProperty("load.baseline.tolerance", "0.2")),
+                Path.of(System.getProperty("load.report-dir", "build/reports/load")),
+                Map.copyOf(appProperties)
+        );
+    }
+
+    boolean closedModel() {
+        return concurrency > 0;
+    }
+
+    // How the load was offered, for logs and report headers
+    String model() {
+        return closedModel() ? concurrency + " open requests" : rate + "/s";
+    }
+
+    private static Duration duration(String name, Duration defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : DurationStyle.detectAndParse(value);
+    }
+}
@@ -0,0 +1,102 @@
+package com.usermanagementsystem.load;
+
+import com.usermanagementsystem.UsermanagementsystemApplication;
+import com.usermanagementsystem.bench.EmbeddedMongo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * End-to-end load run: starts an in-process mongod, seeds it, boots the application
+ * against it on a random port and drives the production mix (see {@link Operation})
+ * through HTTP at a fixed arrival rate, or with load.concurrency requests held open. After a warm-up phase that is thrown away,
+ * the measured phase is written to the report directory and checked against the
+ * SLOs; the process exits with 1 when any of them is missed, failing ./gradlew loadTest.
+ * <p>
+ * Every run uses the same workload, so a feature flag can be compared by passing it
+ * through, e.g. -Pload.app.user.lookup.batching.enabled=false.
+ */
+public final class LoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    // Fixed so every run ranks the same users as hot
+    private static final long KEY_SEED = 42;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        List<String> violations;
+
+        try (EmbeddedMongo mongo = new EmbeddedMongo()) {
+
+            List<String> ids = mongo.seed(settings.users());
+
+            try (ConfigurableApplicationContext app = start(mongo.uri(), settings.appProperties())) {
+
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+
+                TrafficMix mix = new TrafficMix("http://localhost:" + port, ids,
+                        new ZipfianKeys(ids.size(), settings.zipfExponent(), KEY_SEED));
+                LoadGenerator generator = settings.closedModel()
+                        ? new ClosedModelGenerator(client, mix, settings.concurrency())
+                        : new OpenModelGenerator(client, mix, settings.rate());
+
+                log.info("Warming up at {} for {}", settings.model(), settings.warmup());
+                generator.run(settings.warmup());
+
+                log.info("Measuring at {} for {}", settings.model(), settings.duration());
+                SloReport report = new SloReport(settings, generator.run(settings.duration()), settings.duration());
+
+                Properties summary = report.summary();
+                report.write(summary);
+                new TreeSet<>(summary.stringPropertyNames())
+                        .forEach(name -> log.info("{} = {}", name, summary.getProperty(name)));
+
+                violations = report.violations(summary);
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> log.error("SLO missed: {}", violation));
+            System.exit(1);
+        }
+
+        log.info("All SLOs met, report in {}", settings.reportDir().toAbsolutePath());
+    }
+
+    private static ConfigurableApplicationContext start(String mongoUri, Map<String, String> overrides) {
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.data.mongodb.uri", mongoUri);
+        properties.put("server.port", "0");
+        properties.put("spring.main.banner-mode", "off");
+        // One generator is one client; per-client buckets would throttle the whole run.
+        // The in-flight cap stays on, it is part of what is being measured
+        properties.put("user.rate-limit.enabled", "false");
+        properties.putAll(overrides);
+
+        return new SpringApplicationBuilder(UsermanagementsystemApplication.class)
+                .run(properties.entrySet().stream()
+                        .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                        .toArray(String[]::new));
+    }
+}
@@ -0,0 +1,95 @@
+package com.usermanagementsystem.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests arrive on a fixed schedule whatever the server does, each
+ * on its own virtual thread, so a slow response never holds back the next arrival
+ * the way a closed loop of N clients would. Latency is measured from the scheduled
+ * arrival time, which keeps coordinated omission out of the histograms even when
+ * the generator itself falls behind.
+ */
+final class OpenModelGenerator implements LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenModelGenerator.class);
+
+    private final HttpClient client;
+
+    private final TrafficMix mix;
+
+    private final int rate;
+
+    OpenModelGenerator(HttpClient client, TrafficMix mix, int rate) {
+        this.client = client;
+        this.mix = mix;
+        this.rate = rate;
+    }
+
+    @Override
+    public Map<Operation, EndpointStats> run(Duration duration) throws InterruptedException {
+
+        Map<Operation, EndpointStats> stats = EndpointStats.perOperation();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long arrivals = duration.toNanos() / intervalNanos;
+        long start = System.nanoTime();
+        long behind = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            for (long i = 0; i < arrivals; i++) {
+
+                long due = start + i * intervalNanos;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else if (-wait > intervalNanos) {
+                    behind++;
+                }
+
+                Operation operation = mix.nextOperation();
+                HttpRequest request = mix.request(operation);
+                EndpointStats endpoint = stats.get(operation);
+
+                executor.execute(() -> send(client, request, due, endpoint));
+            }
+        }
+
+        if (behind > 0) {
+            log.warn("Generator dispatched {} of {} arrivals more than one interval late", behind, arrivals);
+        }
+
+        return stats;
+    }
+
+    // Latency counts from start, which is the due time in the open model and the send time in the closed one
+    static void send(HttpClient client, HttpRequest request, long start, EndpointStats endpoint) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            long latency = System.nanoTime() - start;
+
+            if (response.statusCode() >= 200 && response.statusCode() < 300) {
+                endpoint.recordSuccess(latency);
+            } else {
+                endpoint.recordError();
+            }
+        } catch (IOException ex) {
+            endpoint.recordError();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            endpoint.recordError();
+        }
+    }
+}
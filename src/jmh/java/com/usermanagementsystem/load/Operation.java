@@ -0,0 +1,56 @@
+package com.usermanagementsystem.load;
+
+/**
+ * The request types of the load mix and their share of the traffic, in percent.
+ * The name is the endpoint label used in reports and SLO properties.
+ */
+enum Operation {
+
+    GET("get", 80),
+    LIST("list", 5),
+    SEARCH("search", 5),
+    STATUS("status", 7),
+    CREATE("create", 3);
+
+    private static final Operation[] BY_PERCENT = byPercent();
+
+    private final String label;
+
+    private final int percent;
+
+    Operation(String label, int percent) {
+        this.label = label;
+        this.percent = percent;
+    }
+
+    String label() {
+        return label;
+    }
+
+    int percent() {
+        return percent;
+    }
+
+    // Maps a uniform value in [0, 100) onto the mix
+    static Operation forPercentile(int value) {
+        return BY_PERCENT[value];
+    }
+
+    private static Operation[] byPercent() {
+
+        Operation[] table = new Operation[100];
+        int next = 0;
+
+        for (Operation operation : values()) {
+            for (int i = 0; i < operation.percent; i++) {
+                table[next++] = operation;
+            }
+        }
+
+        if (next != table.length) {
+            throw new IllegalStateException("Operation mix adds up to " + next + "%, not 100%");
+        }
+
+        return table;
+    }
+}
@@ -0,0 +1,161 @@
+package com.usermanagementsystem.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Writes the results of a measured run and checks them against the SLOs: p99 per
+ * endpoint, completed throughput and error rate, and optionally no more than
+ * load.baseline.tolerance worse than the summary of an earlier run.
+ * <p>
+ * The report directory gets summary.properties (the format load.baseline reads back)
+ * and one HdrHistogram percentile distribution per endpoint (&lt;endpoint&gt;.hgrm),
+ * which plots directly in the usual HdrHistogram tools.
+ */
+final class SloReport {
+
+    private final LoadSettings settings;
+
+    private final Map<Operation, EndpointStats> stats;
+
+    private final Duration measured;
+
+    SloReport(LoadSettings settings, Map<Operation, EndpointStats> stats, Duration measured) {
+        this.settings = settings;
+        this.stats = stats;
+        this.measured = measured;
+    }
+
+    Properties summary() {
+
+        Properties summary = new Properties();
+        long successes = 0;
+        long errors = 0;
+
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            String label = entry.getKey().label();
+            EndpointStats endpoint = entry.getValue();
+
+            summary.setProperty(label + ".count", Long.toString(endpoint.successes()));
+            summary.setProperty(label + ".errors", Long.toString(endpoint.errors()));
+            summary.setProperty(label + ".p50.us", Long.toString(endpoint.latencies().getValueAtPercentile(50)));
+            summary.setProperty(label + ".p99.us", Long.toString(endpoint.latencies().getValueAtPercentile(99)));
+            summary.setProperty(label + ".p999.us", Long.toString(endpoint.latencies().getValueAtPercentile(99.9)));
+            summary.setProperty(label + ".max.us", Long.toString(endpoint.latencies().getMaxValue()));
+
+            successes += endpoint.successes();
+            errors += endpoint.errors();
+        }
+
+        if (settings.closedModel()) {
+            summary.setProperty("concurrency", Integer.toString(settings.concurrency()));
+        } else {
+            summary.setProperty("rate", Integer.toString(settings.rate()));
+        }
+        summary.setProperty("throughput", Double.toString(successes / seconds()));
+        summary.setProperty("errors", Long.toString(errors));
+
+        return summary;
+    }
+
+    void write(Properties summary) throws IOException {
+
+        Files.createDirectories(settings.reportDir());
+
+        try (Writer writer = Files.newBufferedWriter(settings.reportDir().resolve("summary.properties"))) {
+            summary.store(writer, "Load run, " + settings.model() + " for " + measured);
+        }
+
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            Path file = settings.reportDir().resolve(entry.getKey().label() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                // Recorded in microseconds, reported in milliseconds
+                entry.getValue().latencies().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    // Human-readable description of every SLO the run missed, empty when it passed
+    List<String> violations(Properties summary) throws IOException {
+
+        List<String> violations = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+
+        for (Operation operation : Operation.values()) {
+            EndpointStats endpoint = stats.get(operation);
+            long p99 = endpoint.latencies().getValueAtPercentile(99);
+            long budget = settings.p99Budgets().get(operation).toNanos() / 1000;
+
+            if (endpoint.successes() > 0 && p99 > budget) {
+                violations.add("%s p99 %d us is over the %d us budget".formatted(operation.label(), p99, budget));
+            }
+
+            requests += endpoint.successes() + endpoint.errors();
+            errors += endpoint.errors();
+        }
+
+        // With a fixed number of open requests nothing is offered per second, throughput is only reported
+        double throughput = Double.parseDouble(summary.getProperty("throughput"));
+        if (!settings.closedModel() && throughput < settings.rate() * settings.minThroughput()) {
+            violations.add("throughput %.1f/s is below %.0f%% of the %d/s offered"
+                    .formatted(throughput, settings.minThroughput() * 100, settings.rate()));
+        }
+
+        if (requests > 0 && (double) errors / requests > settings.maxErrorRate()) {
+            violations.add("%d of %d requests failed, over the %.3f%% allowed"
+                    .formatted(errors, requests, settings.maxErrorRate() * 100));
+        }
+
+        if (settings.baseline() != null) {
+            violations.addAll(regressions(summary, load(settings.baseline())));
+        }
+
+        return violations;
+    }
+
+    private List<String> regressions(Properties current, Properties baseline) {
+
+        List<String> regressions = new ArrayList<>();
+        double tolerance = settings.baselineTolerance();
+
+        for (Operation operation : Operation.values()) {
+            String key = operation.label() + ".p99.us";
+            String before = baseline.getProperty(key);
+
+            if (before != null && Long.parseLong(current.getProperty(key)) > Long.parseLong(before) * (1 + tolerance)) {
+                regressions.add("%s p99 regressed from %s us to %s us".formatted(
+                        operation.label(), before, current.getProperty(key)));
+            }
+        }
+
+        String before = baseline.getProperty("throughput");
+        if (before != null
+                && Double.parseDouble(current.getProperty("throughput")) < Double.parseDouble(before) * (1 - tolerance)) {
+            regressions.add("throughput regressed from %s/s to %s/s".formatted(before, current.getProperty("throughput")));
+        }
+
+        return regressions;
+    }
+
+    private double seconds() {
+        return measured.toNanos() / 1e9;
+    }
+
+    private static Properties load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,78 @@
+package com.usermanagementsystem.load;
+
+import com.usermanagementsystem.enums.UserStatus;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the next request of the production mix: point reads, list pages, searches,
+ * status changes and sign-ups. Reads, searches and status changes pick their user
+ * from the Zipfian key distribution; seeded user i is named "user&lt;i&gt; ...", so a
+ * search for a hot user's name prefix is as skewed as the point reads.
+ */
+final class TrafficMix {
+
+    private static final UserStatus[] STATUSES = UserStatus.values();
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final String baseUrl;
+
+    private final List<String> ids;
+
+    private final ZipfianKeys keys;
+
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong signups = new AtomicLong();
+
+    TrafficMix(String baseUrl, List<String> ids, ZipfianKeys keys) {
+        this.baseUrl = baseUrl;
+        this.ids = ids;
+        this.keys = keys;
+    }
+
+    Operation nextOperation() {
+        return Operation.forPercentile(ThreadLocalRandom.current().nextInt(100));
+    }
+
+    HttpRequest request(Operation operation) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        return switch (operation) {
+            case GET -> get("/api/users/" + ids.get(keys.next(random)));
+            case LIST -> get("/api/users?size=20&page=" + random.nextInt(5)
+                    + (random.nextBoolean() ? "&status=" + STATUSES[random.nextInt(STATUSES.length)] : ""));
+            case SEARCH -> get("/api/users?size=20&search=user" + keys.next(random));
+            case STATUS -> json("/api/users/" + ids.get(keys.next(random)) + "/status")
+                    .method("PATCH", body("{\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)] + "\"}"))
+                    .build();
+            case CREATE -> {
+                long n = signups.incrementAndGet();
+                yield json("/api/users")
+                        .POST(body("{\"name\":\"load " + runId + " " + n + "\",\"email\":\"load-" + runId + "-" + n + "@load.io\"}"))
+                        .build();
+            }
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json");
+    }
+
+    private static HttpRequest.BodyPublisher body(String json) {
+        return HttpRequest.BodyPublishers.ofString(json);
+    }
+}
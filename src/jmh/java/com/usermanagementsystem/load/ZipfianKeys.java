@@ -0,0 +1,66 @@
+package com.usermanagementsystem.load;
+
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws key indexes in [0, n) with a Zipfian distribution: the key of rank r is
+ * picked with probability proportional to 1 / r^exponent, so a handful of users take
+ * most of the reads, as in production. Ranks are assigned to keys in a fixed random
+ * order, which keeps the hot keys from all being the oldest (or newest) documents.
+ */
+final class ZipfianKeys {
+
+    // cumulative[r] is the probability of drawing a rank <= r
+    private final double[] cumulative;
+
+    private final int[] keyOfRank;
+
+    ZipfianKeys(int n, double exponent, long seed) {
+
+        if (n <= 0) {
+            throw new IllegalArgumentException("Need at least one key");
+        }
+
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+
+        keyOfRank = new int[n];
+        for (int i = 0; i < n; i++) {
+            keyOfRank[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = keyOfRank[i];
+            keyOfRank[i] = keyOfRank[j];
+            keyOfRank[j] = swap;
+        }
+    }
+
+    int next(RandomGenerator random) {
+
+        double u = random.nextDouble();
+
+        // First rank whose cumulative probability reaches u
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return keyOfRank[low];
+    }
+}
@@ -0,0 +1,61 @@
+package com.usermanagementsystem.ratelimit;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission cost on the request path with 8 threads hitting the limiters at once.
+ * Many clients spread CAS traffic over separate buckets; a single hot client is the
+ * worst case, every thread retrying on the same word. The in-flight pair is the
+ * global counter every admitted request goes through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private ClientRateLimiter limiter;
+
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    private String[] clients;
+
+    @Setup
+    public void setUp() {
+
+        // High enough that admission, not rejection, is what gets measured
+        limiter = new ClientRateLimiter(1_000_000_000, 1_000_000, CLIENTS * 2L, Duration.ofMinutes(10));
+        concurrencyLimiter = new ConcurrencyLimiter(1_000);
+
+        clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "client-" + i;
+            limiter.tryAcquire(clients[i]);
+        }
+    }
+
+    @Benchmark
+    public long manyClients() {
+        return limiter.tryAcquire(clients[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+
+    @Benchmark
+    public long hotClient() {
+        return limiter.tryAcquire(clients[0]);
+    }
+
+    @Benchmark
+    public boolean inFlightAcquireRelease() {
+        boolean admitted = concurrencyLimiter.tryAcquire();
+        if (admitted) {
+            concurrencyLimiter.release();
+        }
+        return admitted;
+    }
+}
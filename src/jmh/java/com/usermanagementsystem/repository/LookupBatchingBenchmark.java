@@ -0,0 +1,92 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.bench.EmbeddedMongo;
+import com.usermanagementsystem.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * findById under fan-out, 32 threads at once, with and without the lookup batcher.
+ * Besides lookups per second JMH reports "queries", the Mongo round trips per second
+ * behind them: a leader runs its batch on its own benchmark thread, so counting the
+ * repository calls per thread gives the database load at the measured throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class LookupBatchingBenchmark {
+
+    private static final ThreadLocal<DbOps> CURRENT = new ThreadLocal<>();
+
+    @Param({"false", "true"})
+    private boolean batching;
+
+    @Param({"500"})
+    private long windowMicros;
+
+    private EmbeddedMongo mongo;
+
+    private UserLookupBatcher batcher;
+
+    private List<String> ids;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class DbOps {
+
+        public long queries;
+
+        @Setup(Level.Iteration)
+        public void bind() {
+            CURRENT.set(this);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongo = new EmbeddedMongo();
+        ids = mongo.seed(100_000);
+        batcher = new UserLookupBatcher(counting(mongo.userRepository()), batching,
+                Duration.of(windowMicros, ChronoUnit.MICROS), 100, new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public Optional<User> findById(DbOps ops) {
+        return batcher.findById(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    // Counts findById/findAllById on the calling thread's DbOps
+    private static UserRepository counting(UserRepository delegate) {
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findById") || method.getName().equals("findAllById")) {
+                        DbOps ops = CURRENT.get();
+                        if (ops != null) {
+                            ops.queries++;
+                        }
+                    }
+                    try {
+                        return method.invoke(delegate, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,63 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.bench.EmbeddedMongo;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stale-tolerant reads on a single-node replica set, sent to the primary or with
+ * secondaryPreferred and max staleness. With one member both land on the same node,
+ * so the difference is the cost of server selection under a read preference; the
+ * load moved off the primary only shows once secondaries exist.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadRoutingBenchmark {
+
+    // A first page of 20 plus the look-ahead row, as the list endpoint reads it
+    private static final int FIRST_PAGE_LIMIT = 21;
+
+    @Param({"primary", "secondaryPreferred"})
+    private String routing;
+
+    @Param({"100000"})
+    private int users;
+
+    private EmbeddedMongo mongo;
+
+    private UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        ReadRouting readRouting = routing.equals("primary")
+                ? ReadRouting.primaryOnly(new SimpleMeterRegistry())
+                : new ReadRouting(true, routing, Duration.ofSeconds(90), new SimpleMeterRegistry());
+
+        mongo = new EmbeddedMongo(true, readRouting);
+        userRepository = mongo.userRepository();
+        mongo.seed(users);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public List<UserResponse> listFirstPage() {
+        return userRepository.findResponses(new UserFilter(UserStatus.ACTIVE, null, null, null), 0, FIRST_PAGE_LIMIT, null);
+    }
+
+    @Benchmark
+    public List<UserResponse> searchFirstPage() {
+        return userRepository.findResponses(new UserFilter(null, "user4242", null, null), 0, FIRST_PAGE_LIMIT, null);
+    }
+}
@@ -0,0 +1,95 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.bench.EmbeddedMongo;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserField;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository queries against an in-process mongod. Deep offset vs keyset paging
+ * shows the cost of skip; findById is the baseline round trip. The list pair compares
+ * whole documents with an id+name projection for the same 100-row page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryBenchmark {
+
+    @Param({"100000"})
+    private int users;
+
+    private EmbeddedMongo mongo;
+
+    private UserRepository userRepository;
+
+    private List<String> ids;
+
+    private User deepPageAnchor;
+
+    private int deepPage;
+
+    private static final Set<UserField> ID_AND_NAME = EnumSet.of(UserField.ID, UserField.NAME);
+
+    // A page of 100 plus the look-ahead row, as the list endpoint reads it
+    private static final int LIST_PAGE_LIMIT = 101;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongo = new EmbeddedMongo();
+        userRepository = mongo.userRepository();
+        ids = mongo.seed(users);
+
+        deepPage = users / 10 - 1;
+        deepPageAnchor = userRepository.findPageAfter(null, null, null, deepPage * 10).get(deepPage * 10 - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public Optional<User> findById() {
+        return userRepository.findById(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    @Benchmark
+    public Page<User> findByStatusFirstPage() {
+        return userRepository.findByStatus(
+                UserStatus.ACTIVE,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
+    @Benchmark
+    public List<UserResponse> listAllFields() {
+        return userRepository.findResponses(new UserFilter(UserStatus.ACTIVE, null, null, null), 0, LIST_PAGE_LIMIT, null);
+    }
+
+    @Benchmark
+    public List<UserResponse> listIdAndName() {
+        return userRepository.findResponses(
+                new UserFilter(UserStatus.ACTIVE, null, null, null), 0, LIST_PAGE_LIMIT, ID_AND_NAME);
+    }
+
+    @Benchmark
+    public Page<User> offsetDeepPage() {
+        return userRepository.findAll(PageRequest.of(deepPage, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
+    @Benchmark
+    public List<User> keysetDeepPage() {
+        return userRepository.findPageAfter(deepPageAnchor.getCreatedAt(), deepPageAnchor.getId(), null, 10);
+    }
+}
@@ -0,0 +1,63 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.bench.EmbeddedMongo;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Token-index search vs the old unanchored regex across collection sizes.
+ * The indexed path should stay flat as users grows; the regex grows linearly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    @Param({"10000", "100000", "500000"})
+    private int users;
+
+    private EmbeddedMongo mongo;
+
+    private UserRepository userRepository;
+
+    private String term;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongo = new EmbeddedMongo();
+        userRepository = mongo.userRepository();
+        mongo.seed(users);
+
+        // A single, selective match regardless of collection size
+        term = "user" + (users / 2) + "@";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public List<UserResponse> tokenIndexSearch() {
+        return userRepository.findResponses(new UserFilter(null, term, null, null), 0, 11, null);
+    }
+
+    @Benchmark
+    public List<User> regexScanSearch() {
+        Pattern pattern = Pattern.compile(Pattern.quote(term), Pattern.CASE_INSENSITIVE);
+
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("name").regex(pattern),
+                Criteria.where("email").regex(pattern)
+        )).limit(10);
+
+        return mongo.mongoTemplate().find(query, User.class);
+    }
+}
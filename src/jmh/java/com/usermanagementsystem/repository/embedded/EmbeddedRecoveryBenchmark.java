@@ -0,0 +1,81 @@
+package com.usermanagementsystem.repository.embedded;
+
+import com.usermanagementsystem.enums.UserStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Restart time of the embedded store: loading a snapshot and replaying the log
+ * written after it, against replaying the whole history from the log alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EmbeddedRecoveryBenchmark {
+
+    @Param({"100000"})
+    private int users;
+
+    @Param({"snapshot", "log-only"})
+    private String layout;
+
+    // Written once, copied before every recovery since recovering starts a new log generation
+    private Path source;
+
+    private Path directory;
+
+    private EmbeddedUserStore recovered;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+
+        source = Files.createTempDirectory("embedded-recovery");
+
+        EmbeddedUserStore store = new EmbeddedUserStore(source, false, 8 << 20);
+        EmbeddedUserRepository repository = new EmbeddedUserRepository(store);
+        List<String> ids = EmbeddedRepositoryBenchmark.seed(repository, users);
+
+        if (layout.equals("snapshot")) {
+            store.snapshot();
+        }
+
+        // A tail of updates after the snapshot, as a crash would leave it
+        for (int i = 0; i < ids.size(); i += 10) {
+            repository.updateStatus(ids.get(i), UserStatus.BLOCKED, null);
+        }
+
+        // Left without close(), which would fold the tail into a snapshot
+        store.force();
+    }
+
+    @Setup(Level.Invocation)
+    public void copySource() throws IOException {
+        directory = Files.createTempDirectory("embedded-recovery-run");
+        FileSystemUtils.copyRecursively(source, directory);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeRecovered() throws IOException {
+        recovered.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(source);
+    }
+
+    @Benchmark
+    public int recover() {
+        recovered = new EmbeddedUserStore(directory, false, 8 << 20);
+        return recovered.size();
+    }
+}
@@ -0,0 +1,137 @@
+package com.usermanagementsystem.repository.embedded;
+
+import com.usermanagementsystem.bench.EmbeddedMongo;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.UserFilter;
+import com.usermanagementsystem.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same repository calls against Mongo and against embedded storage with
+ * identical data, so the gap is the cost of the round trip and the query engine.
+ * The write measures a log append plus index maintenance against an insert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmbeddedRepositoryBenchmark {
+
+    private static final UserStatus[] STATUSES = UserStatus.values();
+
+    // A first page of 20 plus the look-ahead row, as the list endpoint reads it
+    private static final int FIRST_PAGE_LIMIT = 21;
+
+    @Param({"mongo", "embedded"})
+    private String backend;
+
+    @Param({"100000"})
+    private int users;
+
+    private EmbeddedMongo mongo;
+
+    private EmbeddedUserStore store;
+
+    private Path directory;
+
+    private UserRepository userRepository;
+
+    private List<String> ids;
+
+    private User deepPageAnchor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+
+        if (backend.equals("mongo")) {
+            mongo = new EmbeddedMongo();
+            userRepository = mongo.userRepository();
+            ids = mongo.seed(users);
+        } else {
+            directory = Files.createTempDirectory("embedded-bench");
+            store = new EmbeddedUserStore(directory, false, 8 << 20);
+            userRepository = new EmbeddedUserRepository(store);
+            ids = seed(userRepository, users);
+        }
+
+        int deepRow = users / 2;
+        deepPageAnchor = userRepository.findPageAfter(null, null, null, deepRow).get(deepRow - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (mongo != null) {
+            mongo.close();
+        } else {
+            store.close();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public Optional<User> findById() {
+        return userRepository.findById(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    @Benchmark
+    public List<UserResponse> statusFirstPage() {
+        return userRepository.findResponses(new UserFilter(UserStatus.ACTIVE, null, null, null), 0, FIRST_PAGE_LIMIT, null);
+    }
+
+    @Benchmark
+    public List<User> keysetDeepPage() {
+        return userRepository.findPageAfter(deepPageAnchor.getCreatedAt(), deepPageAnchor.getId(), null, 20);
+    }
+
+    @Benchmark
+    public List<UserResponse> searchFirstPage() {
+        return userRepository.findResponses(new UserFilter(null, "user4242", null, null), 0, FIRST_PAGE_LIMIT, null);
+    }
+
+    @Benchmark
+    public User insert() {
+        long n = ThreadLocalRandom.current().nextLong();
+        return userRepository.insert(User.builder()
+                .name("bench " + n)
+                .email("bench" + n + "@bench.io")
+                .status(UserStatus.ACTIVE)
+                .build());
+    }
+
+    // Same rows EmbeddedMongo.seed writes
+    static List<String> seed(UserRepository userRepository, int count) {
+
+        List<String> ids = new ArrayList<>(count);
+        List<User> batch = new ArrayList<>(1000);
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+
+        for (int i = 0; i < count; i++) {
+            batch.add(User.builder()
+                    .name("user" + i + " " + Integer.toHexString(i * 31))
+                    .email("user" + i + "@bench.io")
+                    .status(STATUSES[i % STATUSES.length])
+                    .createdAt(start.plusSeconds(i))
+                    .updatedAt(start.plusSeconds(i))
+                    .build());
+
+            if (batch.size() == 1000 || i == count - 1) {
+                userRepository.insert(batch).forEach(user -> ids.add(user.getId()));
+                batch.clear();
+            }
+        }
+
+        return ids;
+    }
+}
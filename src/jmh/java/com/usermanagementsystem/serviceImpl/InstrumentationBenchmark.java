@@ -0,0 +1,88 @@
+package com.usermanagementsystem.serviceImpl;
+
+import com.usermanagementsystem.cache.UserCache;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.UserLookupBatcher;
+import com.usermanagementsystem.repository.UserRepository;
+import com.usermanagementsystem.service.UserService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cost of the @Timed instrumentation on the cheapest service call there is, a cache
+ * hit on getUserById: bare call, explicit Timer.record, and the TimedAspect proxy
+ * Spring puts in front of the service, all against a Prometheus registry with
+ * histogram buckets enabled as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InstrumentationBenchmark {
+
+    private static final String ID = "65f000000000000000000001";
+
+    private UserService plain;
+
+    private UserService timedProxy;
+
+    private Timer timer;
+
+    @Setup
+    public void setUp() {
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(ID)).thenReturn(Optional.of(User.builder()
+                .id(ID)
+                .name("Saikiran")
+                .email("sai@bench.io")
+                .status(UserStatus.ACTIVE)
+                .createdAt(Instant.now())
+                .version(1L)
+                .build()));
+
+        UserLookupBatcher direct = new UserLookupBatcher(userRepository, false, Duration.ZERO, 1, new SimpleMeterRegistry());
+        plain = new UserServiceImpl(userRepository, new UserCache(1000, Duration.ofHours(1), true), event -> { }, direct);
+        plain.getUserById(ID);
+
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(plain);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TimedAspect(registry));
+        timedProxy = proxyFactory.getProxy();
+
+        timer = Timer.builder("bench.get-user")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Benchmark
+    public UserResponse uninstrumented() {
+        return plain.getUserById(ID);
+    }
+
+    @Benchmark
+    public UserResponse timerRecord() {
+        return timer.record(() -> plain.getUserById(ID));
+    }
+
+    @Benchmark
+    public UserResponse timedAspectProxy() {
+        return timedProxy.getUserById(ID);
+    }
+}
@@ -0,0 +1,40 @@
+package com.usermanagementsystem.serviceImpl;
+
+import com.usermanagementsystem.cache.UserCache;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapToResponseBenchmark {
+
+    private UserServiceImpl userService;
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        userService = new UserServiceImpl(null, new UserCache(1, Duration.ofMinutes(1), false), event -> { }, null);
+        user = User.builder()
+                .id("65f000000000000000000001")
+                .name("Saikiran")
+                .email("sai@bench.io")
+                .status(UserStatus.ACTIVE)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .version(3L)
+                .build();
+    }
+
+    @Benchmark
+    public UserResponse mapToResponse() {
+        return userService.mapToResponse(user);
+    }
+}
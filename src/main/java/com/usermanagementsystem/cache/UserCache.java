@@ -0,0 +1,128 @@
+package com.usermanagementsystem.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.util.UserIdNormalizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of {@link UserResponse} keyed by canonical id, so a read
+ * and a write that spell the same ObjectId in different hex case share one entry.
+ * <p>
+ * Entries are futures so a load never runs inside a map lock: concurrent misses wait
+ * on the first caller's future instead of a synchronized compute, which keeps
+ * virtual threads from pinning their carrier during the Mongo round trip.
+ */
+@Component
+public class UserCache {
+
+    private final AsyncCache<String, UserResponse> usersById;
+
+    private final boolean stampedeProtection;
+
+    public UserCache(
+            @Value("${user.cache.max-size:10000}") long maxSize,
+            @Value("${user.cache.ttl:5m}") Duration ttl,
+            @Value("${user.cache.stampede-protection:true}") boolean stampedeProtection) {
+
+        this.stampedeProtection = stampedeProtection;
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    // Loader may throw, in that case nothing is cached
+    public UserResponse get(String requestedId, Function<String, UserResponse> loader) {
+
+        String id = UserIdNormalizer.normalize(requestedId);
+        CompletableFuture<UserResponse> loading = new CompletableFuture<>();
+
+        if (!stampedeProtection) {
+            CompletableFuture<UserResponse> cached = usersById.getIfPresent(id);
+            if (cached != null && cached.isDone()) {
+                return join(cached);
+            }
+
+            // Published before the load, like the protected path, so an invalidation during the load
+            // removes it rather than the load putting back what it read before the write. A miss still
+            // never waits on someone else's load; while one is in flight it loads without caching
+            if (usersById.asMap().putIfAbsent(id, loading) != null) {
+                return loader.apply(id);
+            }
+
+            return load(id, loader, loading);
+        }
+
+        // Only the empty future is published inside the map, the loader runs after on this thread.
+        // Going through get() counts hits, misses and loads; concurrent misses wait for one loader call
+        CompletableFuture<UserResponse> entry = usersById.get(id, (key, executor) -> loading);
+
+        if (entry != loading) {
+            return join(entry);
+        }
+
+        return load(id, loader, loading);
+    }
+
+    // Completed entries only: never starts a load and never waits for one in flight
+    public UserResponse getIfPresent(String id) {
+
+        CompletableFuture<UserResponse> cached = usersById.getIfPresent(UserIdNormalizer.normalize(id));
+
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+            return null;
+        }
+
+        return cached.join();
+    }
+
+    // Also drops a load in flight, its result then only reaches the callers already waiting
+    public void invalidate(String id) {
+        usersById.asMap().remove(UserIdNormalizer.normalize(id));
+    }
+
+    public CacheStats stats() {
+        return usersById.synchronous().stats();
+    }
+
+    public long size() {
+        return usersById.synchronous().estimatedSize();
+    }
+
+    // Completes the published future; if it was invalidated meanwhile the result is not cached
+    private UserResponse load(String id, Function<String, UserResponse> loader, CompletableFuture<UserResponse> loading) {
+
+        try {
+            UserResponse loaded = loader.apply(id);
+            loading.complete(loaded);
+            return loaded;
+
+        } catch (RuntimeException ex) {
+            usersById.asMap().remove(id, loading);
+            loading.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    // Rethrow the loader's own exception so callers still see UserNotFoundException
+    private static UserResponse join(CompletableFuture<UserResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.usermanagementsystem.changes;
+
+import com.usermanagementsystem.dto.ChangeFeedResponse;
+
+/**
+ * Durable source of changes older than the in-memory log holds, used for tokens the
+ * log does not know: handed out before a restart or by another instance.
+ */
+@FunctionalInterface
+public interface ChangeHistory {
+
+    // Changes after the token, oldest first; ChangeFeedExpiredException when the source no longer has it
+    ChangeFeedResponse after(String token, int limit);
+}
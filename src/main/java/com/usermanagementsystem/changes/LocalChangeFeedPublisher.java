@@ -0,0 +1,23 @@
+package com.usermanagementsystem.changes;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds the change log from this process's own writes. Used when Mongo change
+ * streams are not available (no replica set); only sees writes made by this instance.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "user.changes.source", havingValue = "local", matchIfMissing = true)
+public class LocalChangeFeedPublisher {
+
+    private final UserChangeLog userChangeLog;
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        userChangeLog.append(event.type(), event.userId(), event.user());
+    }
+}
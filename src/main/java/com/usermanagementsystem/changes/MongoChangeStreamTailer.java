@@ -0,0 +1,359 @@
+package com.usermanagementsystem.changes;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoServerException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import com.usermanagementsystem.cache.UserCache;
+import com.usermanagementsystem.dto.ChangeFeedResponse;
+import com.usermanagementsystem.dto.UserChangeResponse;
+import com.usermanagementsystem.enums.ChangeType;
+import com.usermanagementsystem.exception.ChangeFeedExpiredException;
+import com.usermanagementsystem.mapper.UserMapper;
+import com.usermanagementsystem.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds the change log from a Mongo change stream on the users collection, so it
+ * sees writes from every instance and from bulk tools. Requires a replica set.
+ * <p>
+ * Public tokens are the stream's resume tokens. The position reached is checkpointed
+ * to the changeStreamPositions collection every user.changes.checkpoint-interval, and
+ * a restart resumes after it, so changes made while the instance was down still reach
+ * the log. As the log's {@link ChangeHistory} it also serves tokens the log does not
+ * hold by resuming a stream after them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "user.changes.source", havingValue = "mongo")
+public class MongoChangeStreamTailer implements SmartLifecycle, ChangeHistory {
+
+    private static final long RETRY_DELAY_MS = 1000;
+
+    // How long a history read waits for more once it has caught up with the oplog
+    private static final long HISTORY_AWAIT_MS = 200;
+
+    private static final String POSITIONS = "changeStreamPositions";
+
+    // Server codes for a resume token that is malformed or no longer in the oplog
+    private static final Set<Integer> TOKEN_GONE = Set.of(2, 9, 260, 280, 286);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final UserChangeLog userChangeLog;
+
+    private final UserCache userCache;
+
+    private final String consumer;
+
+    private final long checkpointIntervalNanos;
+
+    private volatile boolean running;
+
+    private volatile Thread worker;
+
+    // Owned by the worker thread
+    private BsonDocument resumeToken;
+
+    private String checkpointed;
+
+    private long lastCheckpoint;
+
+    public MongoChangeStreamTailer(
+            MongoTemplate mongoTemplate,
+            UserChangeLog userChangeLog,
+            UserCache userCache,
+            @Value("${user.changes.consumer:users}") String consumer,
+            @Value("${user.changes.checkpoint-interval:1s}") Duration checkpointInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.userChangeLog = userChangeLog;
+        this.userCache = userCache;
+        this.consumer = consumer;
+        this.checkpointIntervalNanos = checkpointInterval.toNanos();
+        // Registered before the web server starts, so no resume token is ever answered with 410 early
+        userChangeLog.useHistory(this);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofVirtual().name("users-change-stream").start(this::tail);
+    }
+
+    @Override
+    public void stop() {
+
+        running = false;
+
+        Thread current = worker;
+        if (current != null) {
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public ChangeFeedResponse after(String token, int limit) {
+
+        if (!token.matches("[0-9A-Fa-f]+")) {
+            throw new ChangeFeedExpiredException("Change token is no longer available, resync required");
+        }
+
+        List<UserChangeResponse> changes = new ArrayList<>();
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = watch()
+                .resumeAfter(resumeTokenOf(token))
+                .maxAwaitTime(HISTORY_AWAIT_MS, TimeUnit.MILLISECONDS)
+                .cursor()) {
+
+            while (changes.size() < limit) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+
+                if (change == null) {
+                    break;
+                }
+
+                UserChangeResponse response = toChange(change);
+                if (response != null) {
+                    changes.add(response);
+                }
+            }
+
+            // Also moves past updates the feed does not report
+            BsonDocument position = limit == 0 ? null : cursor.getResumeToken();
+
+            return ChangeFeedResponse.builder()
+                    .changes(changes)
+                    .nextToken(position == null ? token : tokenOf(position))
+                    .hasMore(limit > 0 && changes.size() == limit)
+                    .build();
+        } catch (MongoServerException ex) {
+            if (TOKEN_GONE.contains(ex.getCode())) {
+                throw new ChangeFeedExpiredException("Change token is no longer available, resync required");
+            }
+            throw ex;
+        }
+    }
+
+    private void tail() {
+
+        boolean positionLoaded = false;
+
+        while (running) {
+            try {
+                if (!positionLoaded) {
+                    resumeToken = loadPosition();
+                    positionLoaded = true;
+                }
+
+                follow();
+            } catch (MongoServerException ex) {
+                if (resumeToken != null && TOKEN_GONE.contains(ex.getCode())) {
+                    // Consumers holding older tokens get 410 from the history read and resync
+                    log.warn("Users change stream position is no longer in the oplog, following from now on", ex);
+                    resumeToken = null;
+                } else {
+                    log.warn("Users change stream interrupted, resuming in {} ms", RETRY_DELAY_MS, ex);
+                    pause();
+                }
+            } catch (MongoException ex) {
+                log.warn("Users change stream interrupted, resuming in {} ms", RETRY_DELAY_MS, ex);
+                pause();
+            }
+        }
+
+        try {
+            checkpoint(true);
+        } catch (MongoException ex) {
+            log.warn("Could not checkpoint the users change stream position on shutdown", ex);
+        }
+    }
+
+    private void follow() {
+
+        ChangeStreamIterable<Document> stream = watch().maxAwaitTime(1, TimeUnit.SECONDS);
+
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+
+            while (running) {
+                // Returns null after maxAwaitTime so shutdown is noticed
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+
+                if (change != null) {
+                    publish(change);
+                }
+
+                BsonDocument position = cursor.getResumeToken();
+                if (position != null) {
+                    resumeToken = position;
+                    if (change == null) {
+                        // Caught up: new consumers without a token start here
+                        userChangeLog.markPosition(tokenOf(position));
+                    }
+                    checkpoint(false);
+                }
+            }
+        }
+    }
+
+    private ChangeStreamIterable<Document> watch() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class))
+                .watch(List.of(Aggregates.match(
+                        Filters.in("operationType", "insert", "update", "replace", "delete"))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP);
+    }
+
+    private void publish(ChangeStreamDocument<Document> change) {
+
+        UserChangeResponse response = toChange(change);
+
+        if (response != null) {
+            // Writes from other instances must not leave stale entries in this instance's cache
+            userCache.invalidate(response.getUserId());
+            userChangeLog.append(response);
+        }
+    }
+
+    // Null for changes the feed does not report (updates that leave status alone)
+    private UserChangeResponse toChange(ChangeStreamDocument<Document> change) {
+
+        ChangeType type = switch (change.getOperationType()) {
+            case INSERT -> ChangeType.CREATED;
+            case REPLACE -> ChangeType.STATUS_CHANGED;
+            case UPDATE -> touchesStatus(change.getUpdateDescription()) ? ChangeType.STATUS_CHANGED : null;
+            case DELETE -> ChangeType.DELETED;
+            default -> null;
+        };
+
+        if (type == null) {
+            return null;
+        }
+
+        Document fullDocument = type == ChangeType.DELETED ? null : change.getFullDocument();
+        User user = fullDocument == null ? null : mongoTemplate.getConverter().read(User.class, fullDocument);
+
+        return UserChangeResponse.builder()
+                .token(tokenOf(change.getResumeToken()))
+                .type(type)
+                .userId(idOf(change.getDocumentKey()))
+                .user(user == null ? null : UserMapper.toResponse(user))
+                .timestamp(timestampOf(change))
+                .build();
+    }
+
+    private BsonDocument loadPosition() {
+
+        Document position = mongoTemplate.getCollection(POSITIONS).find(Filters.eq("_id", consumer)).first();
+
+        if (position == null || position.getString("resumeToken") == null) {
+            return null;
+        }
+
+        checkpointed = position.getString("resumeToken");
+        return resumeTokenOf(checkpointed);
+    }
+
+    // At most once per interval and only when the position moved; force on shutdown
+    private void checkpoint(boolean force) {
+
+        if (resumeToken == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        String token = tokenOf(resumeToken);
+
+        if (token.equals(checkpointed) || (!force && now - lastCheckpoint < checkpointIntervalNanos)) {
+            return;
+        }
+
+        mongoTemplate.getCollection(POSITIONS).replaceOne(
+                Filters.eq("_id", consumer),
+                new Document("_id", consumer).append("resumeToken", token).append("updatedAt", new Date()),
+                new ReplaceOptions().upsert(true));
+
+        checkpointed = token;
+        lastCheckpoint = now;
+    }
+
+    private static boolean touchesStatus(UpdateDescription description) {
+        return description != null
+                && description.getUpdatedFields() != null
+                && description.getUpdatedFields().containsKey("status");
+    }
+
+    private static String idOf(BsonDocument documentKey) {
+
+        BsonValue id = documentKey == null ? null : documentKey.get("_id");
+
+        if (id == null) {
+            return null;
+        }
+
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    private static Instant timestampOf(ChangeStreamDocument<Document> change) {
+
+        if (change.getWallTime() != null) {
+            return Instant.ofEpochMilli(change.getWallTime().getValue());
+        }
+
+        return change.getClusterTime() == null
+                ? Instant.now()
+                : Instant.ofEpochSecond(change.getClusterTime().getTime());
+    }
+
+    // Resume tokens are {_data: "<hex>"}; the hex string is the public token
+    private static String tokenOf(BsonDocument resumeToken) {
+        return resumeToken.getString("_data").getValue();
+    }
+
+    private static BsonDocument resumeTokenOf(String token) {
+        return new BsonDocument("_data", new BsonString(token));
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.usermanagementsystem.changes;
+
+import com.usermanagementsystem.dto.ChangeFeedResponse;
+import com.usermanagementsystem.dto.UserChangeResponse;
+import com.usermanagementsystem.exception.ChangeFeedExpiredException;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes changes to one SSE client by following the change log from the client's
+ * token: it sends everything after the token page by page, then waits until the
+ * log signals an append (or a heartbeat is due) and reads on from the last token
+ * sent. Nothing is buffered per client, so a slow client only falls behind; once its
+ * position is no longer retained the stream ends with an error and the client
+ * resumes with Last-Event-ID like any other reconnect.
+ * <p>
+ * Reading by token rather than queueing appended changes works the same for
+ * in-process tokens and for change stream resume tokens served from history.
+ */
+public class SseChangeSubscription implements Runnable {
+
+    private static final int PAGE_SIZE = 500;
+
+    private static final long HEARTBEAT_SECONDS = 15;
+
+    private final UserChangeLog changeLog;
+
+    private final SseEmitter emitter;
+
+    // At most one outstanding wakeup, appends between two reads collapse into it
+    private final Semaphore appended = new Semaphore(0);
+
+    private volatile boolean open = true;
+
+    private String token;
+
+    public SseChangeSubscription(UserChangeLog changeLog, SseEmitter emitter, String token) {
+        this.changeLog = changeLog;
+        this.emitter = emitter;
+        // No token means "from now on"
+        this.token = token == null || token.isBlank() ? changeLog.currentToken() : token;
+    }
+
+    public void start() {
+
+        // Subscribe before the first read so nothing appended in between is missed
+        Runnable unsubscribe = changeLog.subscribe(change -> wakeUp());
+
+        emitter.onCompletion(() -> open = false);
+        emitter.onTimeout(() -> open = false);
+        emitter.onError(ex -> open = false);
+
+        Thread.ofVirtual().name("sse-user-changes").start(() -> {
+            try {
+                run();
+            } finally {
+                unsubscribe.run();
+            }
+        });
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (open) {
+                ChangeFeedResponse page = changeLog.since(token, PAGE_SIZE);
+
+                for (UserChangeResponse change : page.getChanges()) {
+                    send(change);
+                }
+
+                if (page.getNextToken() != null) {
+                    token = page.getNextToken();
+                }
+
+                if (!page.isHasMore()) {
+                    if (appended.tryAcquire(HEARTBEAT_SECONDS, TimeUnit.SECONDS)) {
+                        appended.drainPermits();
+                    } else {
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                    }
+                }
+            }
+
+            emitter.complete();
+        } catch (ChangeFeedExpiredException ex) {
+            emitter.completeWithError(ex);
+        } catch (IOException ex) {
+            // Client went away
+            emitter.completeWithError(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+
+    private void send(UserChangeResponse change) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(change.getToken())
+                .name(change.getType().name())
+                .data(change, MediaType.APPLICATION_JSON));
+    }
+
+    // Called by the appending thread, never blocks it
+    private void wakeUp() {
+        if (appended.availablePermits() == 0) {
+            appended.release();
+        }
+    }
+}
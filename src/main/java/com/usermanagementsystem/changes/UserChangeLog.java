@@ -0,0 +1,228 @@
+package com.usermanagementsystem.changes;
+
+import com.usermanagementsystem.dto.ChangeFeedResponse;
+import com.usermanagementsystem.dto.UserChangeResponse;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.ChangeType;
+import com.usermanagementsystem.exception.ChangeFeedExpiredException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, sequence-numbered log of user changes. Consumers resume from a token.
+ * <p>
+ * With user.changes.source=local this log is the only record and tokens are
+ * "epoch.sequence" for the current process lifetime. A restart, a redeploy, or a
+ * poll served by another instance therefore answers 410 and the consumer resyncs,
+ * as it does for a token that has fallen out of the ring.
+ * <p>
+ * With user.changes.source=mongo tokens are change stream resume tokens and the ring
+ * only caches recent changes. A token the ring does not know is read from the
+ * {@link ChangeHistory} (the change stream itself), so it stays valid across
+ * restarts and instances for as long as the oplog still covers it.
+ */
+@Component
+public class UserChangeLog {
+
+    private final UserChangeResponse[] ring;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final List<Consumer<UserChangeResponse>> listeners = new CopyOnWriteArrayList<>();
+
+    // Ring sequence of each retained change with an external token
+    private final Map<String, Long> positions = new HashMap<>();
+
+    private volatile ChangeHistory history;
+
+    // Latest external position, a change or a mark
+    private String headToken;
+
+    // Only the latest mark stays resolvable, older ones fall back to the history
+    private String markedToken;
+
+    // ReentrantLock rather than synchronized so virtual-thread writers do not pin
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Sequences start at 1, 0 means the log is empty
+    private long lastSequence;
+
+    public UserChangeLog(@Value("${user.changes.capacity:100000}") int capacity) {
+        this.ring = new UserChangeResponse[capacity];
+    }
+
+    public UserChangeResponse append(ChangeType type, String userId, UserResponse user) {
+
+        lock.lock();
+        try {
+            return add(UserChangeResponse.builder()
+                    .token(token(lastSequence + 1))
+                    .type(type)
+                    .userId(userId)
+                    .user(user)
+                    .timestamp(Instant.now())
+                    .build());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // For changes that already carry their token, such as change stream events
+    public UserChangeResponse append(UserChangeResponse change) {
+
+        lock.lock();
+        try {
+            positions.put(change.getToken(), lastSequence + 1);
+            headToken = change.getToken();
+            return add(change);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Changes after tokens the log does not know are read from here instead of answering 410
+    public void useHistory(ChangeHistory history) {
+        this.history = history;
+    }
+
+    // The change source has consumed everything up to token, which need not belong to a change
+    public void markPosition(String token) {
+
+        lock.lock();
+        try {
+            if (markedToken != null) {
+                positions.remove(markedToken);
+            }
+            positions.put(token, lastSequence);
+            markedToken = token;
+            headToken = token;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Changes after the token, oldest first; a null token starts at the oldest retained change
+    public ChangeFeedResponse since(String token, int limit) {
+
+        ChangeHistory fallback;
+
+        lock.lock();
+        try {
+            long oldest = Math.max(1, lastSequence - ring.length + 1);
+            Long after = token == null || token.isBlank() ? Long.valueOf(oldest - 1) : positionOf(token);
+
+            if (after != null && after >= oldest - 1 && after <= lastSequence) {
+                return read(token, after, limit);
+            }
+
+            fallback = history;
+        } finally {
+            lock.unlock();
+        }
+
+        // Outside the lock, reading the history is a round trip to the source
+        if (fallback == null) {
+            throw new ChangeFeedExpiredException("Change token is no longer available, resync required");
+        }
+
+        return fallback.after(token, limit);
+    }
+
+    public String currentToken() {
+
+        lock.lock();
+        try {
+            return history != null ? headToken : token(lastSequence);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns a handle that removes the listener
+    public Runnable subscribe(Consumer<UserChangeResponse> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    // Caller holds the lock
+    private UserChangeResponse add(UserChangeResponse change) {
+
+        long sequence = lastSequence + 1;
+
+        UserChangeResponse evicted = ring[slot(sequence)];
+        if (evicted != null && !positions.isEmpty()) {
+            positions.remove(evicted.getToken(), sequence - ring.length);
+        }
+
+        ring[slot(sequence)] = change;
+        lastSequence = sequence;
+
+        // Inside the lock so every listener sees changes in sequence order; listeners only enqueue
+        listeners.forEach(listener -> listener.accept(change));
+
+        return change;
+    }
+
+    // Caller holds the lock and has checked that after is retained
+    private ChangeFeedResponse read(String token, long after, int limit) {
+
+        long last = Math.min(lastSequence, after + limit);
+        List<UserChangeResponse> changes = new ArrayList<>((int) (last - after));
+
+        for (long sequence = after + 1; sequence <= last; sequence++) {
+            changes.add(ring[slot(sequence)]);
+        }
+
+        String nextToken;
+        if (last > after) {
+            nextToken = ring[slot(last)].getToken();
+        } else if (token != null && !token.isBlank()) {
+            nextToken = token;
+        } else {
+            nextToken = history != null ? headToken : token(last);
+        }
+
+        return ChangeFeedResponse.builder()
+                .changes(changes)
+                .nextToken(nextToken)
+                .hasMore(last < lastSequence)
+                .build();
+    }
+
+    // Ring sequence the token follows, null when this log does not know it; caller holds the lock
+    private Long positionOf(String token) {
+
+        if (history != null) {
+            return positions.get(token);
+        }
+
+        int separator = token.indexOf('.');
+
+        if (separator < 0 || !token.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+
+        try {
+            return Long.parseLong(token.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private String token(long sequence) {
+        return epoch + "." + sequence;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % ring.length);
+    }
+}
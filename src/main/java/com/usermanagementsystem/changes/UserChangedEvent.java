@@ -0,0 +1,24 @@
+package com.usermanagementsystem.changes;
+
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.ChangeType;
+import com.usermanagementsystem.enums.UserStatus;
+
+/**
+ * Published by the services after a successful write. The user snapshot is the
+ * state after the change and is null for deletes; previousStatus is null for creates.
+ */
+public record UserChangedEvent(ChangeType type, String userId, UserResponse user, UserStatus previousStatus) {
+
+    public static UserChangedEvent created(UserResponse user) {
+        return new UserChangedEvent(ChangeType.CREATED, user.getId(), user, null);
+    }
+
+    public static UserChangedEvent statusChanged(UserResponse user, UserStatus previousStatus) {
+        return new UserChangedEvent(ChangeType.STATUS_CHANGED, user.getId(), user, previousStatus);
+    }
+
+    public static UserChangedEvent deleted(String userId, UserStatus previousStatus) {
+        return new UserChangedEvent(ChangeType.DELETED, userId, null, previousStatus);
+    }
+}
@@ -0,0 +1,74 @@
+package com.usermanagementsystem.config;
+
+import com.usermanagementsystem.enums.EndpointClass;
+import com.usermanagementsystem.ratelimit.AdmissionControlInterceptor;
+import com.usermanagementsystem.ratelimit.ClientRateLimiter;
+import com.usermanagementsystem.ratelimit.ConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-client rate limits for each endpoint class and a global in-flight cap in front
+ * of the user APIs. The in-flight cap sits below the Mongo pool size so requests are
+ * shed with a 503 before they start queueing for connections.
+ * <p>
+ * user.rate-limit.enabled switches the per-client limits and user.admission.enabled
+ * the in-flight cap, independently; with the cap off in-flight requests are still counted.
+ * <p>
+ * The change stream is left out: it holds its connection open for as long as the
+ * client listens and is served from memory, not from Mongo.
+ */
+@Configuration
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
+    public AdmissionControlConfig(AdmissionControlInterceptor admissionControlInterceptor) {
+        this.admissionControlInterceptor = admissionControlInterceptor;
+    }
+
+    @Bean
+    public static AdmissionControlInterceptor admissionControlInterceptor(
+            @Value("${user.rate-limit.enabled:true}") boolean rateLimitEnabled,
+            @Value("${user.rate-limit.search.rate:5}") double searchRate,
+            @Value("${user.rate-limit.search.burst:10}") int searchBurst,
+            @Value("${user.rate-limit.read.rate:200}") double readRate,
+            @Value("${user.rate-limit.read.burst:400}") int readBurst,
+            @Value("${user.rate-limit.list.rate:50}") double listRate,
+            @Value("${user.rate-limit.list.burst:100}") int listBurst,
+            @Value("${user.rate-limit.write.rate:20}") double writeRate,
+            @Value("${user.rate-limit.write.burst:40}") int writeBurst,
+            @Value("${user.rate-limit.max-clients:100000}") long maxClients,
+            @Value("${user.rate-limit.client-idle:10m}") Duration clientIdle,
+            @Value("${user.rate-limit.client-header:X-Api-Key}") String clientHeader,
+            @Value("${user.rate-limit.client-keys:}") Set<String> clientKeys,
+            @Value("${user.admission.enabled:true}") boolean admissionEnabled,
+            @Value("${user.admission.max-in-flight:80}") int maxInFlight,
+            MeterRegistry meterRegistry) {
+
+        Map<EndpointClass, ClientRateLimiter> rateLimiters = rateLimitEnabled ? Map.of(
+                EndpointClass.SEARCH, new ClientRateLimiter(searchRate, searchBurst, maxClients, clientIdle),
+                EndpointClass.READ, new ClientRateLimiter(readRate, readBurst, maxClients, clientIdle),
+                EndpointClass.LIST, new ClientRateLimiter(listRate, listBurst, maxClients, clientIdle),
+                EndpointClass.WRITE, new ClientRateLimiter(writeRate, writeBurst, maxClients, clientIdle)) : Map.of();
+
+        ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(admissionEnabled ? maxInFlight : Integer.MAX_VALUE);
+
+        return new AdmissionControlInterceptor(rateLimiters, concurrencyLimiter, clientHeader, clientKeys, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionControlInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/users/changes/stream");
+    }
+}
@@ -0,0 +1,51 @@
+package com.usermanagementsystem.config;
+
+import com.usermanagementsystem.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * One-off backfill of createdAt for users written before auditing was enabled, taken
+ * from the creation time embedded in their ObjectId. Until it has run those users sort
+ * after everyone else on createdAt. Enable with user.audit.backfill-on-startup=true.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "user.audit.backfill-on-startup", havingValue = "true")
+public class CreatedAtBackfillRunner implements ApplicationRunner {
+
+    private final UserRepository userRepository;
+
+    @Value("${user.audit.backfill-batch-size:1000}")
+    private int batchSize;
+
+    // Pause between batches so the backfill does not crowd out live traffic
+    @Value("${user.audit.backfill-pause:0ms}")
+    private Duration pause;
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+
+        long total = 0;
+        int updated;
+
+        do {
+            updated = userRepository.backfillCreatedAt(batchSize);
+            total += updated;
+
+            if (updated > 0 && !pause.isZero()) {
+                Thread.sleep(pause);
+            }
+        } while (updated > 0);
+
+        log.info("createdAt backfill finished, {} users updated", total);
+    }
+}
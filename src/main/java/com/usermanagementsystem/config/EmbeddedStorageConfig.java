@@ -0,0 +1,55 @@
+package com.usermanagementsystem.config;
+
+import com.usermanagementsystem.repository.embedded.EmbeddedUserStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Storage for the embedded profile. The store recovers from its directory when the
+ * bean is created and writes a final snapshot on shutdown. Unless every write is
+ * synced, the log is flushed on a fixed interval, which bounds what a crash can lose;
+ * periodic snapshots bound how much log a restart has to replay.
+ */
+@Configuration
+@Profile("embedded")
+@RequiredArgsConstructor
+public class EmbeddedStorageConfig {
+
+    private final EmbeddedUserStore embeddedUserStore;
+
+    @Bean(destroyMethod = "close")
+    public static EmbeddedUserStore embeddedUserStore(
+            @Value("${user.embedded.dir:data/users}") Path directory,
+            @Value("${user.embedded.sync-every-write:false}") boolean syncEveryWrite,
+            @Value("${user.embedded.log-window:8MB}") DataSize logWindow,
+            MeterRegistry meterRegistry) {
+
+        EmbeddedUserStore store = new EmbeddedUserStore(directory, syncEveryWrite, (int) logWindow.toBytes());
+
+        Gauge.builder("user.embedded.users", store, EmbeddedUserStore::size)
+                .description("Users held by the embedded store")
+                .register(meterRegistry);
+
+        return store;
+    }
+
+    @Scheduled(fixedDelayString = "${user.embedded.fsync-interval:100ms}")
+    public void flushLog() {
+        embeddedUserStore.force();
+    }
+
+    @Scheduled(fixedDelayString = "${user.embedded.snapshot-interval:5m}",
+            initialDelayString = "${user.embedded.snapshot-interval:5m}")
+    public void snapshot() {
+        embeddedUserStore.snapshot();
+    }
+}
@@ -0,0 +1,62 @@
+package com.usermanagementsystem.config;
+
+import com.usermanagementsystem.dto.QueryPlanReport;
+import com.usermanagementsystem.service.QueryPlanService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Explains every list query shape at startup and reports shapes that would scan the
+ * collection or sort in memory. Set user.index-check.fail-on-missing=true to refuse
+ * to start instead of logging a warning.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "user.index-check.enabled", havingValue = "true", matchIfMissing = true)
+public class IndexCoverageCheckRunner implements ApplicationRunner {
+
+    private final QueryPlanService queryPlanService;
+
+    @Value("${user.index-check.fail-on-missing:false}")
+    private boolean failOnMissing;
+
+    @Override
+    public void run(ApplicationArguments args) {
+
+        List<QueryPlanReport> reports;
+
+        try {
+            reports = queryPlanService.explainQueryShapes();
+        } catch (RuntimeException ex) {
+            if (failOnMissing) {
+                throw ex;
+            }
+            log.warn("Index coverage check skipped, explain failed", ex);
+            return;
+        }
+
+        List<String> uncovered = reports.stream()
+                .filter(report -> !report.isIndexed())
+                .map(report -> report.getShape() + " " + report.getStages())
+                .toList();
+
+        if (uncovered.isEmpty()) {
+            log.info("Index coverage check passed for {} query shapes", reports.size());
+            return;
+        }
+
+        if (failOnMissing) {
+            throw new IllegalStateException("Query shapes without index support: " + uncovered);
+        }
+
+        log.warn("Query shapes without index support: {}", uncovered);
+    }
+}
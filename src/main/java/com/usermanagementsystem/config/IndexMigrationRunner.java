@@ -0,0 +1,81 @@
+package com.usermanagementsystem.config;
+
+import com.usermanagementsystem.repository.UserIndexMigration;
+import com.usermanagementsystem.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@link UserIndexMigration} before other startup runners when
+ * user.index-migration.enabled=true, then backfills search tokens for users written
+ * before they existed, in batches of user.search.backfill-batch-size. With
+ * user.index-migration.exit=true the process exits once both are done, which is how
+ * a deploy job or init container runs it ahead of the rollout. Otherwise startup only
+ * verifies that the indexes writes depend on exist, and fails when they do not.
+ */
+@Slf4j
+@Component
+@Profile("!embedded")
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IndexMigrationRunner implements ApplicationRunner {
+
+    private final UserIndexMigration userIndexMigration;
+
+    private final UserRepository userRepository;
+
+    private final ApplicationContext applicationContext;
+
+    @Value("${user.index-migration.enabled:false}")
+    private boolean enabled;
+
+    @Value("${user.index-migration.exit:false}")
+    private boolean exit;
+
+    @Value("${user.index-migration.verify-on-startup:true}")
+    private boolean verifyOnStartup;
+
+    @Value("${user.search.backfill-batch-size:1000}")
+    private int backfillBatchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+
+        if (!enabled) {
+            if (verifyOnStartup) {
+                userIndexMigration.verifyRequired();
+            }
+            return;
+        }
+
+        userIndexMigration.migrate();
+        backfillSearchTokens();
+
+        if (exit) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    // After the indexes, so each batch finds its untokenized users through the token index
+    private void backfillSearchTokens() {
+
+        long total = 0;
+        int updated;
+
+        do {
+            updated = userRepository.backfillSearchTokens(backfillBatchSize);
+            total += updated;
+        } while (updated > 0);
+
+        log.info("Search token backfill finished, {} users updated", total);
+    }
+}
@@ -0,0 +1,39 @@
+package com.usermanagementsystem.config;
+
+import com.usermanagementsystem.cache.UserCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Meters that Spring Boot does not register on its own. Everything here is read
+ * from existing counters at scrape time, so the request path pays nothing extra.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder userCacheMetrics(UserCache userCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", userCache, cache -> cache.stats().hitCount())
+                    .tag("cache", "users")
+                    .tag("result", "hit")
+                    .register(registry);
+
+            FunctionCounter.builder("cache.gets", userCache, cache -> cache.stats().missCount())
+                    .tag("cache", "users")
+                    .tag("result", "miss")
+                    .register(registry);
+
+            FunctionCounter.builder("cache.evictions", userCache, cache -> cache.stats().evictionCount())
+                    .tag("cache", "users")
+                    .register(registry);
+
+            Gauge.builder("cache.size", userCache, UserCache::size)
+                    .tag("cache", "users")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.usermanagementsystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
+
+/**
+ * createdAt/updatedAt auditing for both Mongo templates. Embedded storage sets the
+ * timestamps itself and has no Mongo mapping context to audit against.
+ */
+@Configuration
+@Profile("!embedded")
+@EnableMongoAuditing
+// The reactive template runs its own callbacks, without this users created under /api/reactive get no createdAt
+@EnableReactiveMongoAuditing
+public class MongoAuditingConfig {
+}
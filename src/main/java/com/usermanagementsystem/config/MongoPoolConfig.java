@@ -0,0 +1,38 @@
+package com.usermanagementsystem.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection pool sizing for the Mongo driver. With virtual threads the request
+ * thread count is no longer a limit, so the pool is what bounds in-flight queries:
+ * callers queue for a connection for at most max-wait instead of piling up.
+ */
+@Configuration
+public class MongoPoolConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(
+            @Value("${user.mongo.pool.max-size:100}") int maxSize,
+            @Value("${user.mongo.pool.min-size:0}") int minSize,
+            @Value("${user.mongo.pool.max-connecting:2}") int maxConnecting,
+            @Value("${user.mongo.pool.max-wait:2s}") Duration maxWait,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+
+        return settings -> settings.applyToConnectionPoolSettings(pool -> {
+            pool.maxSize(maxSize)
+                    .minSize(minSize)
+                    .maxConnecting(maxConnecting)
+                    .maxWaitTime(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+
+            meterRegistry.ifAvailable(registry -> pool.addConnectionPoolListener(new MongoPoolWaitMetrics(registry)));
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package com.usermanagementsystem.config;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time callers spend waiting for a pooled connection. The driver's own pool metrics
+ * only show sizes, and this is the number that grows first when the pool is too small.
+ */
+public class MongoPoolWaitMetrics implements ConnectionPoolListener {
+
+    private final Timer acquired;
+
+    private final Timer failed;
+
+    public MongoPoolWaitMetrics(MeterRegistry meterRegistry) {
+        this.acquired = waitTimer(meterRegistry, "acquired");
+        this.failed = waitTimer(meterRegistry, "failed");
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        acquired.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        failed.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("mongodb.driver.pool.wait")
+                .description("Time spent waiting to check out a pooled connection")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
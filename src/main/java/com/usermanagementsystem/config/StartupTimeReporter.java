@@ -0,0 +1,43 @@
+package com.usermanagementsystem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Logs the time from JVM start to ready, the number autoscaling waits on; Spring's
+ * own "Started in" line leaves out JVM startup and class loading before main. With
+ * user.startup.exit-when-ready=true the process exits right after, which is how the
+ * measureStartup build task samples it.
+ */
+@Slf4j
+@Component
+public class StartupTimeReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final boolean exitWhenReady;
+
+    public StartupTimeReporter(@Value("${user.startup.exit-when-ready:false}") boolean exitWhenReady) {
+        this.exitWhenReady = exitWhenReady;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+
+        long sinceJvmStart = ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis())
+                .orElse(-1L);
+
+        // measureStartup parses this line
+        log.info("Ready in {} ms since JVM start ({} ms in Spring)", sinceJvmStart, event.getTimeTaken().toMillis());
+
+        if (exitWhenReady) {
+            System.exit(SpringApplication.exit(event.getApplicationContext(), () -> 0));
+        }
+    }
+}
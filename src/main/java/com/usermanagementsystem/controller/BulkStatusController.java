@@ -0,0 +1,36 @@
+package com.usermanagementsystem.controller;
+
+import com.usermanagementsystem.dto.BulkStatusUpdateRequest;
+import com.usermanagementsystem.dto.BulkStatusUpdateResponse;
+import com.usermanagementsystem.service.BulkStatusService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users/status/bulk")
+@RequiredArgsConstructor
+public class BulkStatusController {
+
+    private final BulkStatusService bulkStatusService;
+
+    // Change status for a list of ids or every user matching a filter
+    @PostMapping
+    public ResponseEntity<BulkStatusUpdateResponse> updateStatuses(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+
+        BulkStatusUpdateResponse response = bulkStatusService.updateStatuses(request);
+
+        return ResponseEntity
+                .status(request.isAsync() ? HttpStatus.ACCEPTED : HttpStatus.OK)
+                .body(response);
+    }
+
+    // Poll progress of a bulk status job
+    @GetMapping("/{jobId}")
+    public BulkStatusUpdateResponse getJob(@PathVariable String jobId) {
+        return bulkStatusService.getJob(jobId);
+    }
+}
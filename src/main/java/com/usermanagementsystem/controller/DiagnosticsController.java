@@ -0,0 +1,60 @@
+package com.usermanagementsystem.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.usermanagementsystem.cache.UserCache;
+import com.usermanagementsystem.dto.CacheStatsResponse;
+import com.usermanagementsystem.dto.QueryPlanReport;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.repository.UserFilter;
+import com.usermanagementsystem.service.QueryPlanService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+@RequiredArgsConstructor
+public class DiagnosticsController {
+
+    private final UserCache userCache;
+
+    private final QueryPlanService queryPlanService;
+
+    // User cache hit/miss/eviction counters
+    @GetMapping("/cache")
+    public CacheStatsResponse getCacheStats() {
+
+        CacheStats stats = userCache.stats();
+
+        return CacheStatsResponse.builder()
+                .size(userCache.size())
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .loads(stats.loadCount())
+                .build();
+    }
+
+    // Winning plan for every list query shape, flags collection scans and in-memory sorts
+    @GetMapping("/query-plans")
+    public List<QueryPlanReport> getQueryPlans() {
+        return queryPlanService.explainQueryShapes();
+    }
+
+    // Winning plan for the list query with these filters
+    @GetMapping("/query-plans/explain")
+    public QueryPlanReport explainQuery(
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Instant createdFrom,
+            @RequestParam(required = false) Instant createdTo
+    ) {
+        return queryPlanService.explain(new UserFilter(status, search, createdFrom, createdTo));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.usermanagementsystem.controller;
+
+import com.usermanagementsystem.dto.CreateUserRequest;
+import com.usermanagementsystem.dto.UpdateUserStatusRequest;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.exception.InvalidLimitException;
+import com.usermanagementsystem.service.ReactiveUserService;
+import com.usermanagementsystem.util.ETags;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mirror of {@link UserController} on the reactive stack, for A/B comparison under load.
+ * List results stream as NDJSON with backpressure instead of a materialized page.
+ * Needs the reactive Mongo driver, so it is absent under embedded storage.
+ */
+@RestController
+@Profile("!embedded")
+@RequestMapping("/api/reactive/users")
+@RequiredArgsConstructor
+public class ReactiveUserController {
+
+    private final ReactiveUserService reactiveUserService;
+
+    // A stream is a page without a count; the whole collection is what /api/users/export is for
+    private static final int MAX_STREAM_LIMIT = 1000;
+
+    // Create user
+    @PostMapping
+    public Mono<UserResponse> createUser(@Valid @RequestBody CreateUserRequest request) {
+        return reactiveUserService.createUser(request);
+    }
+
+    // Get user by id
+    @GetMapping("/{id}")
+    public Mono<UserResponse> getUserById(@PathVariable String id) {
+        return reactiveUserService.getUserById(id);
+    }
+
+    // Update user status, optionally guarded by If-Match
+    @PatchMapping("/{id}/status")
+    public Mono<ResponseEntity<UserResponse>> updateUserStatus(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UpdateUserStatusRequest request) {
+
+        return reactiveUserService.updateUserStatus(id, request, ETags.parseVersion(ifMatch))
+                .map(response -> ResponseEntity.ok()
+                        .eTag(ETags.of(response.getVersion()))
+                        .body(response));
+    }
+
+    // Stream the newest matching users, 10 by default like a page and at most 1000
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<UserResponse> streamUsers(
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        // Checked before subscribing, once the stream starts the status is already committed
+        if (limit < 1 || limit > MAX_STREAM_LIMIT) {
+            throw new InvalidLimitException("limit must be between 1 and " + MAX_STREAM_LIMIT);
+        }
+
+        return reactiveUserService.streamUsers(status, search, limit);
+    }
+
+    //Delete user by id
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteUser(@PathVariable String id) {
+        return reactiveUserService.deleteUser(id);
+    }
+}
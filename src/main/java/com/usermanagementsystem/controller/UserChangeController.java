@@ -0,0 +1,51 @@
+package com.usermanagementsystem.controller;
+
+import com.usermanagementsystem.changes.SseChangeSubscription;
+import com.usermanagementsystem.changes.UserChangeLog;
+import com.usermanagementsystem.dto.ChangeFeedResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/users/changes")
+@RequiredArgsConstructor
+public class UserChangeController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final UserChangeLog userChangeLog;
+
+    // Changes after the given token, oldest first; omit since to start from the oldest retained change
+    @GetMapping
+    public ChangeFeedResponse getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return userChangeLog.since(since, Math.clamp(limit, 1, MAX_LIMIT));
+    }
+
+    // Live change stream; reconnecting clients resume from Last-Event-ID (or ?since=)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) String since,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        // Expired tokens surface as 410 before the stream is opened
+        String token = lastEventId != null ? lastEventId : since;
+        if (token != null && !token.isBlank()) {
+            userChangeLog.since(token, 0);
+        }
+
+        SseEmitter emitter = new SseEmitter(0L);
+
+        new SseChangeSubscription(userChangeLog, emitter, token).start();
+
+        return emitter;
+    }
+}
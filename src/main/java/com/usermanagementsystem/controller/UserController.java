@@ -1,14 +1,37 @@
 package com.usermanagementsystem.controller;
 
+import com.usermanagementsystem.dto.BulkImportResponse;
 import com.usermanagementsystem.dto.CreateUserRequest;
+import com.usermanagementsystem.dto.CursorPageResponse;
 import com.usermanagementsystem.dto.UpdateUserStatusRequest;
+import com.usermanagementsystem.dto.UserListResponse;
 import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.DataFormat;
+import com.usermanagementsystem.enums.UserField;
 import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.exception.InvalidExportException;
+import com.usermanagementsystem.mapper.UserMapper;
+import com.usermanagementsystem.service.BulkImportService;
+import com.usermanagementsystem.service.UserExportService;
 import com.usermanagementsystem.service.UserService;
+import com.usermanagementsystem.util.ETags;
+import com.usermanagementsystem.util.UserFields;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/users")
@@ -17,36 +40,198 @@ public class UserController {
 
     private final UserService userService;
 
+    private final BulkImportService bulkImportService;
+
+    private final UserExportService userExportService;
+
+    // Enough to answer a conditional GET without the rest of the document
+    private static final Set<UserField> VALIDATOR_FIELDS =
+            EnumSet.of(UserField.ID, UserField.VERSION, UserField.UPDATED_AT, UserField.CREATED_AT);
+
+    // Mongo reads a negative cursor batch size as "one batch, then close", which would cut the export short
+    private static final int MAX_EXPORT_BATCH_SIZE = 10_000;
+
     // Create user
     @PostMapping
     public UserResponse createUser(@Valid @RequestBody CreateUserRequest request) {
         return userService.createUser(request);
     }
 
-    // Get user by id
+    // Bulk create users from a streamed NDJSON body, one CreateUserRequest per line
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    public BulkImportResponse importUsersNdjson(InputStream body) {
+        return bulkImportService.importUsers(body, DataFormat.NDJSON);
+    }
+
+    // Bulk create users from a streamed CSV body with a name,email header
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public BulkImportResponse importUsersCsv(InputStream body) {
+        return bulkImportService.importUsers(body, DataFormat.CSV);
+    }
+
+    // Get user by id, fields=id,name returns only those fields.
+    // If-None-Match / If-Modified-Since are checked against the version and updatedAt alone, so a 304 never loads the full user
     @GetMapping("/{id}")
-    public UserResponse getUserById(@PathVariable String id) {
-        return userService.getUserById(id);
+    public ResponseEntity<UserResponse> getUserById(
+            @PathVariable String id,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
+    ) {
+        Set<UserField> selected = UserFields.parse(fields);
+
+        if (isConditional(webRequest)) {
+            UserResponse validators = userService.getUserById(id, VALIDATOR_FIELDS);
+            if (webRequest.checkNotModified(eTagOf(validators, selected), lastModifiedOf(validators))) {
+                return null;
+            }
+        }
+
+        UserResponse response = selected == null
+                ? userService.getUserById(id)
+                : userService.getUserById(id, withValidators(selected));
+
+        return ResponseEntity.ok()
+                .eTag(eTagOf(response, selected))
+                .lastModified(lastModifiedOf(response))
+                .body(UserMapper.select(response, selected));
+    }
+
+    // Batch lookup, ids=a,b,c (at most 100); users come back in the order asked for, unknown ids are left out
+    @GetMapping(params = "ids")
+    public List<UserResponse> getUsersByIds(@RequestParam List<String> ids) {
+        return userService.getUsersByIds(ids);
     }
 
-    // Update user status
+    // Update user status, optionally guarded by If-Match with the ETag from a previous response
     @PatchMapping("/{id}/status")
-    public UserResponse updateUserStatus(
+    public ResponseEntity<UserResponse> updateUserStatus(
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateUserStatusRequest request) {
 
-        return userService.updateUserStatus(id, request);
+        UserResponse response = userService.updateUserStatus(id, request, ETags.parseVersion(ifMatch));
+
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getVersion()))
+                .body(response);
     }
 
-    // List all users
+    // List users, status, search and the createdFrom/createdTo range (ISO-8601) combine; fields= as for a single user.
+    // total=true adds the match count. The weak ETag covers the ids and versions of the page, a match skips serializing the body
     @GetMapping
-    public Page<UserResponse> getUsers(
+    public ResponseEntity<UserListResponse> getUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) UserStatus status,
-            @RequestParam(required = false) String search
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Instant createdFrom,
+            @RequestParam(required = false) Instant createdTo,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean total,
+            WebRequest webRequest
     ) {
-        return userService.getUsers(page, size, status, search);
+        Set<UserField> selected = UserFields.parse(fields);
+
+        UserListResponse users = userService.getUsers(
+                page, size, status, search, createdFrom, createdTo, withPageValidators(selected), total);
+
+        String eTag = ETags.ofPage(users);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(selected == null ? users : withSelected(users, selected));
+    }
+
+    // List users with keyset pagination, pass an empty cursor for the first page
+    @GetMapping(params = "cursor")
+    public CursorPageResponse getUsersByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) UserStatus status
+    ) {
+        return userService.getUsersByCursor(cursor, size, status);
+    }
+
+    // Stream every user (optionally one status) as NDJSON or CSV, gzip when the client accepts it
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "NDJSON") DataFormat format,
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(defaultValue = "1000") int batchSize,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        // Checked up front, once streaming has started the status is already 200
+        if (batchSize < 1 || batchSize > MAX_EXPORT_BATCH_SIZE) {
+            throw new InvalidExportException("batchSize must be between 1 and " + MAX_EXPORT_BATCH_SIZE);
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            userExportService.exportUsers(target, format, status, batchSize);
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format == DataFormat.CSV
+                        ? new MediaType("text", "csv")
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=users." + format.name().toLowerCase());
+
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(body);
+    }
+
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // Strong for the full representation, weak for a fieldset since the bytes differ per selection
+    private static String eTagOf(UserResponse user, Set<UserField> selected) {
+        return selected == null ? ETags.of(user.getVersion()) : ETags.weak(user.getVersion());
+    }
+
+    // -1 leaves Last-Modified out for documents that predate auditing
+    private static long lastModifiedOf(UserResponse user) {
+        Instant modified = user.getUpdatedAt() != null ? user.getUpdatedAt() : user.getCreatedAt();
+        return modified == null ? -1 : modified.toEpochMilli();
+    }
+
+    private static Set<UserField> withValidators(Set<UserField> selected) {
+        Set<UserField> fields = EnumSet.copyOf(selected);
+        fields.addAll(VALIDATOR_FIELDS);
+        return fields;
+    }
+
+    private static UserListResponse withSelected(UserListResponse users, Set<UserField> selected) {
+        return UserListResponse.builder()
+                .items(users.getItems().stream().map(user -> UserMapper.select(user, selected)).toList())
+                .page(users.getPage())
+                .size(users.getSize())
+                .hasNext(users.isHasNext())
+                .total(users.getTotal())
+                .build();
+    }
+
+    private static Set<UserField> withPageValidators(Set<UserField> selected) {
+        if (selected == null) {
+            return null;
+        }
+        Set<UserField> fields = EnumSet.copyOf(selected);
+        fields.add(UserField.ID);
+        fields.add(UserField.VERSION);
+        return fields;
     }
 
     //Delete user by id
@@ -0,0 +1,22 @@
+package com.usermanagementsystem.controller;
+
+import com.usermanagementsystem.dto.UserStatsResponse;
+import com.usermanagementsystem.service.UserStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/users/stats")
+@RequiredArgsConstructor
+public class UserStatsController {
+
+    private final UserStatsService userStatsService;
+
+    // Totals per status and daily signups, served from in-memory counters
+    @GetMapping
+    public UserStatsResponse getStats() {
+        return userStatsService.getStats();
+    }
+}
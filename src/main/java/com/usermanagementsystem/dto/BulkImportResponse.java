@@ -0,0 +1,22 @@
+package com.usermanagementsystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkImportResponse {
+
+    private long totalRows;
+
+    private long inserted;
+
+    private long failed;
+
+    private List<ImportRowError> errors;
+
+    // True when more rows failed than user.import.max-reported-errors
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,14 @@
+package com.usermanagementsystem.dto;
+
+import com.usermanagementsystem.enums.BulkOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkStatusOutcome {
+
+    private String id;
+
+    private BulkOutcome outcome;
+}
@@ -0,0 +1,46 @@
+package com.usermanagementsystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.usermanagementsystem.enums.UserStatus;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+public class BulkStatusUpdateRequest {
+
+    @NotNull(message = "Status is required")
+    private UserStatus status;
+
+    // Either explicit ids...
+    @Size(max = 100000, message = "At most 100000 ids per request")
+    private List<String> ids;
+
+    // ...or a filter
+    private UserStatus currentStatus;
+
+    private Instant createdBefore;
+
+    private String search;
+
+    // Run in the background and poll GET /api/users/status/bulk/{jobId}
+    private boolean async;
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Provide either ids or at least one filter, not both")
+    public boolean isTargetValid() {
+        boolean hasFilter = currentStatus != null
+                || createdBefore != null
+                || (search != null && !search.isBlank());
+
+        return hasIds() != hasFilter;
+    }
+}
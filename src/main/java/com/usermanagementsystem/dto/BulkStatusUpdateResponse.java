@@ -0,0 +1,34 @@
+package com.usermanagementsystem.dto;
+
+import com.usermanagementsystem.enums.JobState;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+public class BulkStatusUpdateResponse {
+
+    private String jobId;
+
+    private JobState state;
+
+    private long processed;
+
+    private long updated;
+
+    private long unchanged;
+
+    private long notFound;
+
+    // Only filled for id-based requests, filter-based requests report counts
+    private List<BulkStatusOutcome> outcomes;
+
+    private String error;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+}
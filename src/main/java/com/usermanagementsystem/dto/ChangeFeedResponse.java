@@ -0,0 +1,18 @@
+package com.usermanagementsystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ChangeFeedResponse {
+
+    private List<UserChangeResponse> changes;
+
+    // Pass as ?since= on the next poll, unchanged when there was nothing new
+    private String nextToken;
+
+    private boolean hasMore;
+}
@@ -0,0 +1,20 @@
+package com.usermanagementsystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CursorPageResponse {
+
+    private List<UserResponse> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    // Opaque token to pass as ?cursor= for the next page, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,14 @@
+package com.usermanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ImportRowError {
+
+    // 1-based line number in the uploaded file
+    private long row;
+
+    private String message;
+}
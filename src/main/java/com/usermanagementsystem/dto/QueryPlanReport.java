@@ -0,0 +1,28 @@
+package com.usermanagementsystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class QueryPlanReport {
+
+    private String shape;
+
+    // Plan stages, outermost first
+    private List<String> stages;
+
+    private List<String> indexes;
+
+    private boolean collectionScan;
+
+    private boolean inMemorySort;
+
+    // No collection scan, and no blocking sort unless the shape allows one
+    private boolean indexed;
+
+    private Map<String, Object> winningPlan;
+}
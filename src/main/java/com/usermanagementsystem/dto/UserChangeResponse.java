@@ -0,0 +1,24 @@
+package com.usermanagementsystem.dto;
+
+import com.usermanagementsystem.enums.ChangeType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class UserChangeResponse {
+
+    // Resume token: pass as ?since= (or Last-Event-ID) to continue after this change
+    private String token;
+
+    private ChangeType type;
+
+    private String userId;
+
+    // State after the change, null for deletes
+    private UserResponse user;
+
+    private Instant timestamp;
+}
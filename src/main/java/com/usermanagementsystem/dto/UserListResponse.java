@@ -0,0 +1,28 @@
+package com.usermanagementsystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of the user list. Only what clients use is serialized, unlike a Spring
+ * Data Page whose JSON carries the pageable and sort and is not a stable format.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserListResponse {
+
+    private List<UserResponse> items;
+
+    private int page;
+
+    private int size;
+
+    private boolean hasNext;
+
+    // Only with total=true, counting costs a second query
+    private Long total;
+}
@@ -1,5 +1,7 @@
 package com.usermanagementsystem.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.usermanagementsystem.enums.UserStatus;
 import lombok.Builder;
 import lombok.Data;
@@ -8,6 +10,9 @@ import java.time.Instant;
 
 @Data
 @Builder
+// Fields not selected with fields= are null and left out
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonSerialize(using = UserResponseSerializer.class)
 public class UserResponse {
 
     private String id;
@@ -21,4 +26,6 @@ public class UserResponse {
     private Instant  createdAt;
 
     private Instant updatedAt;
+
+    private Long version;
 }
\ No newline at end of file
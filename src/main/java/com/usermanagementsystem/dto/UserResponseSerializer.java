@@ -0,0 +1,50 @@
+package com.usermanagementsystem.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a UserResponse field by field instead of through bean introspection: the
+ * same names, order and NON_NULL handling as the bean serializer, with no property
+ * writers or per-field filter checks in between. Instants still go through the
+ * configured serializer so the date format follows the ObjectMapper.
+ */
+public class UserResponseSerializer extends StdSerializer<UserResponse> {
+
+    public UserResponseSerializer() {
+        super(UserResponse.class);
+    }
+
+    @Override
+    public void serialize(UserResponse user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+        gen.writeStartObject(user);
+
+        if (user.getId() != null) {
+            gen.writeStringField("id", user.getId());
+        }
+        if (user.getName() != null) {
+            gen.writeStringField("name", user.getName());
+        }
+        if (user.getEmail() != null) {
+            gen.writeStringField("email", user.getEmail());
+        }
+        if (user.getStatus() != null) {
+            gen.writeStringField("status", user.getStatus().name());
+        }
+        if (user.getCreatedAt() != null) {
+            provider.defaultSerializeField("createdAt", user.getCreatedAt(), gen);
+        }
+        if (user.getUpdatedAt() != null) {
+            provider.defaultSerializeField("updatedAt", user.getUpdatedAt(), gen);
+        }
+        if (user.getVersion() != null) {
+            gen.writeNumberField("version", user.getVersion());
+        }
+
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,24 @@
+package com.usermanagementsystem.dto;
+
+import com.usermanagementsystem.enums.UserStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+public class UserStatsResponse {
+
+    private long total;
+
+    private Map<UserStatus, Long> byStatus;
+
+    // One entry per UTC day in the window, oldest first, days without signups are 0
+    private Map<LocalDate, Long> dailySignups;
+
+    // Last time the counters were checked against the database, null before the first check
+    private Instant reconciledAt;
+}
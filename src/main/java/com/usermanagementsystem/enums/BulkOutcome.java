@@ -0,0 +1,7 @@
+package com.usermanagementsystem.enums;
+
+public enum BulkOutcome {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND
+}
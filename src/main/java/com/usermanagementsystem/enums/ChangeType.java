@@ -0,0 +1,7 @@
+package com.usermanagementsystem.enums;
+
+public enum ChangeType {
+    CREATED,
+    STATUS_CHANGED,
+    DELETED
+}
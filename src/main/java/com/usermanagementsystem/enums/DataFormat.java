@@ -0,0 +1,6 @@
+package com.usermanagementsystem.enums;
+
+public enum DataFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,8 @@
+package com.usermanagementsystem.enums;
+
+public enum EndpointClass {
+    SEARCH,
+    READ,
+    LIST,
+    WRITE
+}
@@ -0,0 +1,7 @@
+package com.usermanagementsystem.enums;
+
+public enum JobState {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,22 @@
+package com.usermanagementsystem.enums;
+
+public enum UserField {
+    ID("id"),
+    NAME("name"),
+    EMAIL("email"),
+    STATUS("status"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    VERSION("version");
+
+    // Name used in the fields= parameter, the response and the User document
+    private final String property;
+
+    UserField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+}
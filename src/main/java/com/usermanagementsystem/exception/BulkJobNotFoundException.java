@@ -0,0 +1,9 @@
+package com.usermanagementsystem.exception;
+
+
+public class BulkJobNotFoundException extends RuntimeException {
+
+    public BulkJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.usermanagementsystem.exception;
+
+
+public class ChangeFeedExpiredException extends RuntimeException {
+
+    public ChangeFeedExpiredException(String message) {
+        super(message);
+    }
+}
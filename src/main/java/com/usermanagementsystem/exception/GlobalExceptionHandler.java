@@ -1,6 +1,13 @@
 package com.usermanagementsystem.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
@@ -10,22 +17,127 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        // Slice tests run without metrics auto-configuration
+        this(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(UserNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public Map<String, String> handleUserNotFound(UserNotFoundException ex) {
+        recordError(ex, HttpStatus.NOT_FOUND);
+        return Map.of("message", ex.getMessage());
+    }
+
+    @ExceptionHandler(BulkJobNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public Map<String, String> handleBulkJobNotFound(BulkJobNotFoundException ex) {
+        recordError(ex, HttpStatus.NOT_FOUND);
         return Map.of("message", ex.getMessage());
     }
 
     @ExceptionHandler(DuplicateUserException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleDuplicateUser(DuplicateUserException ex) {
+        recordError(ex, HttpStatus.BAD_REQUEST);
         return Map.of("message", ex.getMessage());
     }
 
+    // Unique email index violation that was not translated by the service layer
+    @ExceptionHandler(DuplicateKeyException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleDuplicateKey(DuplicateKeyException ex) {
+        recordError(ex, HttpStatus.BAD_REQUEST);
+        return Map.of("message", "User with this email already exists");
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidCursor(InvalidCursorException ex) {
+        recordError(ex, HttpStatus.BAD_REQUEST);
+        return Map.of("message", ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidFieldsException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidFields(InvalidFieldsException ex) {
+        recordError(ex, HttpStatus.BAD_REQUEST);
+        return Map.of("message", ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidIdsException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidIds(InvalidIdsException ex) {
+        recordError(ex, HttpStatus.BAD_REQUEST);
+        return Map.of("message", ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidExportException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidExport(InvalidExportException ex) {
+        recordError(ex, HttpStatus.BAD_REQUEST);
+        return Map.of("message", ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidLimitException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidLimit(InvalidLimitException ex) {
+        recordError(ex, HttpStatus.BAD_REQUEST);
+        return Map.of("message", ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidImport(InvalidImportException ex) {
+        recordError(ex, HttpStatus.BAD_REQUEST);
+        return Map.of("message", ex.getMessage());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public Map<String, String> handlePreconditionFailed(PreconditionFailedException ex) {
+        recordError(ex, HttpStatus.PRECONDITION_FAILED);
+        return Map.of("message", ex.getMessage());
+    }
+
+    @ExceptionHandler(ChangeFeedExpiredException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    public Map<String, String> handleChangeFeedExpired(ChangeFeedExpiredException ex) {
+        recordError(ex, HttpStatus.GONE);
+        return Map.of("message", ex.getMessage());
+    }
+
+    // Retry-After in whole seconds, rounded up so a client that honours it is admitted
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String, String>> handleRateLimitExceeded(RateLimitExceededException ex) {
+        recordError(ex, HttpStatus.TOO_MANY_REQUESTS);
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handleServiceOverloaded(ServiceOverloadedException ex) {
+        recordError(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("message", ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleValidation(MethodArgumentNotValidException ex) {
 
+        recordError(ex, HttpStatus.BAD_REQUEST);
+
         String errorMessage = ex.getBindingResult()
                 .getFieldErrors()
                 .stream()
@@ -39,6 +151,16 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Map<String, String> handleGeneric(Exception ex) {
+        recordError(ex, HttpStatus.INTERNAL_SERVER_ERROR);
         return Map.of("message", "Something went wrong");
     }
-}
+
+    // Error rate per exception type and status, alongside http.server.requests
+    private void recordError(Exception ex, HttpStatus status) {
+        meterRegistry.counter(
+                "user.api.errors",
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())
+        ).increment();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.usermanagementsystem.exception;
+
+
+public class InvalidExportException extends RuntimeException {
+
+    public InvalidExportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.usermanagementsystem.exception;
+
+
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.usermanagementsystem.exception;
+
+
+public class InvalidIdsException extends RuntimeException {
+
+    public InvalidIdsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.usermanagementsystem.exception;
+
+
+public class InvalidImportException extends RuntimeException {
+
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.usermanagementsystem.exception;
+
+
+public class InvalidLimitException extends RuntimeException {
+
+    public InvalidLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.usermanagementsystem.exception;
+
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.usermanagementsystem.exception;
+
+
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
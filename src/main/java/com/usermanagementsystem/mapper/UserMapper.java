@@ -0,0 +1,76 @@
+package com.usermanagementsystem.mapper;
+
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserField;
+import com.usermanagementsystem.model.User;
+
+import java.util.Set;
+
+/**
+ * Entity to API mapping shared by the blocking and reactive services.
+ */
+public final class UserMapper {
+
+    private UserMapper() {
+    }
+
+    public static UserResponse toResponse(User user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .status(user.getStatus())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .version(user.getVersion())
+                .build();
+    }
+
+    // Only the selected fields are copied, the rest stay null and are left out of the JSON
+    public static UserResponse toResponse(User user, Set<UserField> fields) {
+
+        if (fields == null) {
+            return toResponse(user);
+        }
+
+        UserResponse.UserResponseBuilder response = UserResponse.builder();
+
+        for (UserField field : fields) {
+            switch (field) {
+                case ID -> response.id(user.getId());
+                case NAME -> response.name(user.getName());
+                case EMAIL -> response.email(user.getEmail());
+                case STATUS -> response.status(user.getStatus());
+                case CREATED_AT -> response.createdAt(user.getCreatedAt());
+                case UPDATED_AT -> response.updatedAt(user.getUpdatedAt());
+                case VERSION -> response.version(user.getVersion());
+            }
+        }
+
+        return response.build();
+    }
+
+    // Sparse copy of an already mapped response, used for cache hits
+    public static UserResponse select(UserResponse source, Set<UserField> fields) {
+
+        if (fields == null) {
+            return source;
+        }
+
+        UserResponse.UserResponseBuilder response = UserResponse.builder();
+
+        for (UserField field : fields) {
+            switch (field) {
+                case ID -> response.id(source.getId());
+                case NAME -> response.name(source.getName());
+                case EMAIL -> response.email(source.getEmail());
+                case STATUS -> response.status(source.getStatus());
+                case CREATED_AT -> response.createdAt(source.getCreatedAt());
+                case UPDATED_AT -> response.updatedAt(source.getUpdatedAt());
+                case VERSION -> response.version(source.getVersion());
+            }
+        }
+
+        return response.build();
+    }
+}
\ No newline at end of file
@@ -9,15 +9,25 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import java.time.Instant;
+import java.util.List;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "users")
+@CompoundIndexes({
+        @CompoundIndex(name = "createdAt_id_idx", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_createdAt_id_idx", def = "{'status': 1, 'createdAt': -1, '_id': -1}"),
+        // Equality on one token already yields createdAt order, so search pages need no blocking sort
+        @CompoundIndex(name = "searchTokens_createdAt_id_idx", def = "{'searchTokens': 1, 'createdAt': -1, '_id': -1}")
+})
 public class User {
 
     @Id
@@ -30,9 +40,16 @@ public class User {
 
     private UserStatus status;
 
+    // Lowercase 2/3-grams of name and email, maintained by UserSearchTokenCallback
+    private List<String> searchTokens;
+
     @CreatedDate
     private Instant createdAt;
 
     @LastModifiedDate
     private Instant updatedAt;
+
+    // Optimistic concurrency, exposed to clients as the ETag
+    @Version
+    private Long version;
 }
@@ -0,0 +1,152 @@
+package com.usermanagementsystem.ratelimit;
+
+import com.usermanagementsystem.enums.EndpointClass;
+import com.usermanagementsystem.exception.RateLimitExceededException;
+import com.usermanagementsystem.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admission control in front of the user APIs. Each request is classed as search,
+ * point read, list or write and charged to its client's bucket for that class, then has to find
+ * a free in-flight slot. Rejections are 429 with Retry-After for a client over its
+ * budget and 503 when the service as a whole is saturated.
+ * <p>
+ * A client is its API key only when the key is one of the issued ones; anything
+ * else is keyed on the remote address, so made-up keys cannot mint fresh buckets.
+ * <p>
+ * A slot is held until the request completes, including the async part of
+ * streaming responses, and released in afterCompletion.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SLOT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".slot";
+
+    private final Map<EndpointClass, ClientRateLimiter> rateLimiters;
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    private final String clientHeader;
+
+    private final Set<String> clientKeys;
+
+    private final Map<EndpointClass, Counter> rateLimited = new EnumMap<>(EndpointClass.class);
+
+    private final Map<EndpointClass, Counter> shed = new EnumMap<>(EndpointClass.class);
+
+    public AdmissionControlInterceptor(
+            Map<EndpointClass, ClientRateLimiter> rateLimiters,
+            ConcurrencyLimiter concurrencyLimiter,
+            String clientHeader,
+            Set<String> clientKeys,
+            MeterRegistry meterRegistry) {
+
+        this.rateLimiters = new EnumMap<>(rateLimiters);
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.clientHeader = clientHeader;
+        this.clientKeys = Set.copyOf(clientKeys);
+
+        // Registered once, the request path only increments
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            rateLimited.put(endpointClass, rejections(meterRegistry, endpointClass, "rate_limited"));
+            shed.put(endpointClass, rejections(meterRegistry, endpointClass, "overloaded"));
+        }
+
+        Gauge.builder("user.admission.in_flight", concurrencyLimiter, ConcurrencyLimiter::inFlight)
+                .description("Requests currently holding an admission slot")
+                .register(meterRegistry);
+
+        this.rateLimiters.forEach((endpointClass, limiter) ->
+                Gauge.builder("user.admission.clients", limiter, ClientRateLimiter::trackedClients)
+                        .description("Clients with a live rate limit bucket")
+                        .tag("class", tagValue(endpointClass))
+                        .register(meterRegistry));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        // Async re-dispatch of a request that was already admitted
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        EndpointClass endpointClass = classify(request);
+
+        ClientRateLimiter rateLimiter = rateLimiters.get(endpointClass);
+        if (rateLimiter != null) {
+            long waitNanos = rateLimiter.tryAcquire(clientOf(request));
+            if (waitNanos > 0) {
+                rateLimited.get(endpointClass).increment();
+                throw new RateLimitExceededException(
+                        "Rate limit exceeded for " + tagValue(endpointClass) + " requests",
+                        Duration.ofNanos(waitNanos));
+            }
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            shed.get(endpointClass).increment();
+            throw new ServiceOverloadedException("Too many requests in flight, try again shortly");
+        }
+
+        request.setAttribute(SLOT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(SLOT_ATTRIBUTE) != null) {
+            request.removeAttribute(SLOT_ATTRIBUTE);
+            concurrencyLimiter.release();
+        }
+    }
+
+    // Search is a separate class because a single call can cost a collection scan,
+    // a point read (a GET mapped to /{id}) because it costs one cached index lookup
+    static EndpointClass classify(HttpServletRequest request) {
+
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return EndpointClass.WRITE;
+        }
+
+        if (StringUtils.hasText(request.getParameter("search"))) {
+            return EndpointClass.SEARCH;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof String path && path.endsWith("}") ? EndpointClass.READ : EndpointClass.LIST;
+    }
+
+    // Prefixed so an issued key can never share a bucket with an address
+    private String clientOf(HttpServletRequest request) {
+        String key = request.getHeader(clientHeader);
+        return key != null && clientKeys.contains(key) ? "key:" + key : "addr:" + request.getRemoteAddr();
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, EndpointClass endpointClass, String reason) {
+        return Counter.builder("user.admission.rejected")
+                .description("Requests turned away by admission control")
+                .tag("class", tagValue(endpointClass))
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static String tagValue(EndpointClass endpointClass) {
+        return endpointClass.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,77 @@
+package com.usermanagementsystem.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per client, kept as a single theoretical arrival time (GCRA) so a
+ * bucket is one AtomicLong updated by compare-and-set: no lock, no refill thread,
+ * and callers for different clients never touch the same word.
+ * <p>
+ * Clients idle for longer than the configured period are forgotten, which is the
+ * same as finding their bucket full again.
+ */
+public class ClientRateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    // Time one request adds to the bucket
+    private final long emissionNanos;
+
+    // How far ahead of now the arrival time may run, i.e. the burst
+    private final long toleranceNanos;
+
+    private final LongSupplier nanoTime;
+
+    public ClientRateLimiter(double permitsPerSecond, int burst, long maxClients, Duration idleTimeout) {
+        this(permitsPerSecond, burst, maxClients, idleTimeout, System::nanoTime);
+    }
+
+    ClientRateLimiter(double permitsPerSecond, int burst, long maxClients, Duration idleTimeout, LongSupplier nanoTime) {
+
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+
+        this.emissionNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.toleranceNanos = emissionNanos * burst;
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * Takes one permit for the client.
+     *
+     * @return 0 when admitted, otherwise nanoseconds until a permit is available
+     */
+    public long tryAcquire(String client) {
+
+        long now = nanoTime.getAsLong();
+        AtomicLong arrival = buckets.get(client, key -> new AtomicLong(now));
+
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + emissionNanos;
+            long ahead = next - now;
+
+            if (ahead > toleranceNanos) {
+                return ahead - toleranceNanos;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long trackedClients() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,10 @@
+package com.usermanagementsystem.repository;
+
+import java.util.Map;
+
+/**
+ * Outcome of an unordered bulk insert. Failures are keyed by the position of the
+ * document in the submitted batch.
+ */
+public record BulkInsertResult(int insertedCount, Map<Integer, String> failures) {
+}
@@ -0,0 +1,9 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.model.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String>, ReactiveUserRepositoryCustom {
+}
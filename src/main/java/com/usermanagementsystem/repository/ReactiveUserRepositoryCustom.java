@@ -0,0 +1,18 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepositoryCustom {
+
+    //streams at most limit matching users newest first straight off the cursor
+    Flux<User> streamUsers(UserStatus status, String search, int limit);
+
+    //sets status and updatedAt in a single findAndModify, expectedVersion null skips the version check
+    Mono<StatusChange> updateStatus(String id, UserStatus status, Long expectedVersion);
+
+    //single findAndRemove, emits the removed user (id and status only) or completes empty
+    Mono<User> removeById(String id);
+}
@@ -0,0 +1,68 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@RequiredArgsConstructor
+public class ReactiveUserRepositoryCustomImpl implements ReactiveUserRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<User> streamUsers(UserStatus status, String search, int limit) {
+
+        Query query = new Query();
+
+        if (status != null) {
+            query.addCriteria(Criteria.where("status").is(status));
+        }
+
+        if (search != null && !search.isBlank()) {
+            query.addCriteria(UserCriteria.search(search));
+        }
+
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        query.limit(limit);
+
+        // Demand from the subscriber drives cursor getMore batches
+        return reactiveMongoTemplate.find(query, User.class);
+    }
+
+    @Override
+    public Mono<StatusChange> updateStatus(String id, UserStatus status, Long expectedVersion) {
+
+        Query query = Query.query(Criteria.where("id").is(id));
+
+        if (expectedVersion != null) {
+            query.addCriteria(UserCriteria.version(expectedVersion));
+        }
+
+        Instant updatedAt = Instant.now();
+
+        return reactiveMongoTemplate.findAndModify(
+                query,
+                UserCriteria.statusChange(status, updatedAt),
+                FindAndModifyOptions.options().returnNew(false),
+                User.class
+        ).map(before -> StatusChange.fromPreImage(before, status, updatedAt));
+    }
+
+    @Override
+    public Mono<User> removeById(String id) {
+
+        Query query = Query.query(Criteria.where("id").is(id));
+        query.fields().include("status");
+
+        return reactiveMongoTemplate.findAndRemove(query, User.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.usermanagementsystem.repository;
+
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides which replica-set members serve a read. Everything stays on the primary
+ * (the template default) unless the repository marks the read as stale-tolerant:
+ * list, search, count and export, all served straight to clients. Those go to a
+ * secondary no further behind than max-staleness, and fall back to the primary when
+ * no secondary qualifies.
+ * <p>
+ * Point reads are never routed, so a read after a write by the same client sees
+ * that write without a causally consistent session. Neither are the stats
+ * aggregations: reconcile adds the writes seen locally since its snapshot, and a
+ * lagging snapshot would drop every write in the lag window on each run. On a standalone server the
+ * read preference is ignored and everything reads from the one node.
+ */
+@Component
+public class ReadRouting {
+
+    // Driver minimum: heartbeat interval plus the 10s idle write period, rounded up
+    static final Duration MIN_MAX_STALENESS = Duration.ofSeconds(90);
+
+    private final ReadPreference staleTolerant;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Counter> routedReads = new ConcurrentHashMap<>();
+
+    public ReadRouting(
+            @Value("${user.read-routing.enabled:true}") boolean enabled,
+            @Value("${user.read-routing.mode:secondaryPreferred}") String mode,
+            @Value("${user.read-routing.max-staleness:90s}") Duration maxStaleness,
+            MeterRegistry meterRegistry) {
+
+        if (enabled && maxStaleness.compareTo(MIN_MAX_STALENESS) < 0) {
+            throw new IllegalArgumentException(
+                    "user.read-routing.max-staleness must be at least " + MIN_MAX_STALENESS.toSeconds() + "s");
+        }
+
+        this.staleTolerant = enabled
+                ? ReadPreference.valueOf(mode, List.of(), maxStaleness.toSeconds(), TimeUnit.SECONDS)
+                : ReadPreference.primary();
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Everything on the primary, for wiring without Spring
+    public static ReadRouting primaryOnly(MeterRegistry meterRegistry) {
+        return new ReadRouting(false, "primary", MIN_MAX_STALENESS, meterRegistry);
+    }
+
+    public ReadPreference staleTolerant() {
+        return staleTolerant;
+    }
+
+    // Routes the query and counts it under the operation name
+    Query staleTolerant(Query query, String operation) {
+        count(operation);
+        return query.withReadPreference(staleTolerant);
+    }
+
+    // Tagged with the preference rather than the server; mongodb.driver.commands has server.address for that
+    private void count(String operation) {
+        routedReads.computeIfAbsent(operation, key -> Counter.builder("user.reads.routed")
+                .description("Repository reads by operation and the read preference they were sent with")
+                .tag("operation", key)
+                .tag("preference", staleTolerant.getName())
+                .register(meterRegistry)).increment();
+    }
+}
@@ -0,0 +1,27 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a single-user status change: the user as stored after the update and
+ * the status it had before, so callers can keep counters without a second read.
+ */
+public record StatusChange(UserStatus previousStatus, User user) {
+
+    // findAndModify returns the pre-image; the update is deterministic, so the post-image is rebuilt from it.
+    // Every field is carried over and updatedAt is cut to what Mongo stores, so it equals a re-read
+    static StatusChange fromPreImage(User before, UserStatus status, Instant updatedAt) {
+
+        User after = before.toBuilder()
+                .status(status)
+                .updatedAt(UserCriteria.stored(updatedAt))
+                // $inc on a missing field starts from 0
+                .version(before.getVersion() == null ? 1L : before.getVersion() + 1)
+                .build();
+
+        return new StatusChange(before.getStatus(), after);
+    }
+}
@@ -0,0 +1,143 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.enums.UserField;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.search.SearchTokenizer;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Query fragments shared by the blocking and reactive repository implementations,
+ * so both stacks emit the same, index-friendly query shapes.
+ */
+final class UserCriteria {
+
+    private UserCriteria() {
+    }
+
+    // Index narrows candidates by n-grams, the regex only re-checks that small set
+    static Criteria search(String term) {
+
+        Pattern pattern = Pattern.compile(
+                Pattern.quote(SearchTokenizer.normalize(term)),
+                Pattern.CASE_INSENSITIVE
+        );
+
+        Criteria matches = new Criteria().orOperator(
+                Criteria.where("name").regex(pattern),
+                Criteria.where("email").regex(pattern)
+        );
+
+        List<String> tokens = SearchTokenizer.queryTokens(term);
+
+        if (tokens.isEmpty()) {
+            // Single character: every user is a candidate anyway, an index would not help
+            return matches;
+        }
+
+        // Users written before tokens existed have none until the index migration backfills them;
+        // the regex alone decides for those, so a search never silently skips them
+        Criteria candidates = new Criteria().orOperator(
+                Criteria.where("searchTokens").all(tokens),
+                Criteria.where("searchTokens").exists(false)
+        );
+
+        return new Criteria().andOperator(candidates, matches);
+    }
+
+    // Each key appears once, so the result can go straight into a Query
+    static Query filter(UserFilter filter) {
+
+        Query query = new Query();
+
+        if (filter.status() != null) {
+            query.addCriteria(Criteria.where("status").is(filter.status()));
+        }
+
+        if (filter.hasCreatedRange()) {
+            Criteria createdAt = Criteria.where("createdAt");
+
+            if (filter.createdFrom() != null) {
+                createdAt.gte(filter.createdFrom());
+            }
+
+            if (filter.createdTo() != null) {
+                createdAt.lt(filter.createdTo());
+            }
+
+            query.addCriteria(createdAt);
+        }
+
+        if (filter.hasSearch()) {
+            query.addCriteria(search(filter.search()));
+        }
+
+        return query;
+    }
+
+    // Null selects every field; _id comes back regardless, the mapper drops it when not selected
+    static Query project(Query query, Set<UserField> fields) {
+
+        if (fields != null) {
+            fields.forEach(field -> query.fields().include(field.getProperty()));
+        }
+
+        return query;
+    }
+
+    // The list query, built in one place so what is explained is exactly what the list endpoint runs.
+    // Null fields select every response field, the same set a DTO projection to UserResponse reads
+    static Query listPage(UserFilter filter, long offset, int limit, Set<UserField> fields) {
+
+        return project(filter(filter), fields == null ? EnumSet.allOf(UserField.class) : fields)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                .skip(offset)
+                .limit(limit);
+    }
+
+    // (createdAt, id) < (lastCreatedAt, lastId) in DESC order
+    static Criteria seekAfter(Instant createdAt, String id) {
+
+        if (createdAt == null) {
+            // Users without createdAt sort last, only the id tie-breaker is left
+            return Criteria.where("createdAt").is(null).and("id").lt(id);
+        }
+
+        return new Criteria().orOperator(
+                Criteria.where("createdAt").lt(createdAt),
+                Criteria.where("createdAt").is(createdAt).and("id").lt(id),
+                Criteria.where("createdAt").is(null)
+        );
+    }
+
+    // Documents written before @Version existed have no version field, they count as version 0
+    static Criteria version(long expectedVersion) {
+
+        if (expectedVersion == 0) {
+            return Criteria.where("version").in(0L, null);
+        }
+
+        return Criteria.where("version").is(expectedVersion);
+    }
+
+    static Update statusChange(UserStatus status, Instant updatedAt) {
+        return new Update()
+                .set("status", status)
+                .set("updatedAt", stored(updatedAt))
+                .inc("version", 1);
+    }
+
+    // BSON dates hold milliseconds; an instant kept in memory has to be cut the same way to equal a re-read
+    static Instant stored(Instant instant) {
+        return instant.truncatedTo(ChronoUnit.MILLIS);
+    }
+}
@@ -0,0 +1,20 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.enums.UserStatus;
+
+import java.time.Instant;
+
+/**
+ * Optional list filters, combined with AND. createdFrom is inclusive, createdTo
+ * exclusive; null or blank values are ignored.
+ */
+public record UserFilter(UserStatus status, String search, Instant createdFrom, Instant createdTo) {
+
+    public boolean hasSearch() {
+        return search != null && !search.isBlank();
+    }
+
+    public boolean hasCreatedRange() {
+        return createdFrom != null || createdTo != null;
+    }
+}
@@ -0,0 +1,101 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes declared on {@link User} (@Indexed, @CompoundIndex) as an
+ * explicit step instead of during context startup. Auto index creation is off, so
+ * starting an instance never waits on index builds.
+ * <p>
+ * Idempotent: indexes that already exist by name are left alone and only missing
+ * ones are created, so it is safe to run on every deploy. An existing index with the
+ * same name but a different definition fails the migration rather than being replaced.
+ * Indexes superseded by a declared one are dropped once the replacement is in place.
+ * <p>
+ * Instances that do not run the migration still call {@link #verifyRequired()} at
+ * startup, so a database that never had it applied is caught before serving writes.
+ */
+@Slf4j
+@Component
+@Profile("!embedded")
+public class UserIndexMigration {
+
+    // The single-field multikey token index, replaced by searchTokens_createdAt_id_idx
+    private static final List<String> RETIRED_INDEXES = List.of("searchTokens_1");
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserIndexMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // Returns the names of the indexes it created, empty when everything was in place
+    public List<String> migrate() {
+
+        IndexOperations indexOps = mongoTemplate.indexOps(User.class);
+
+        Set<String> existing = indexOps.getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .collect(Collectors.toSet());
+
+        List<String> created = new ArrayList<>();
+
+        for (IndexDefinition index : declaredIndexes()) {
+            String name = index.getIndexOptions().getString("name");
+
+            if (name != null && existing.contains(name)) {
+                continue;
+            }
+
+            // createIndex is a no-op for an identical index and an error for a conflicting one
+            created.add(indexOps.ensureIndex(index));
+        }
+
+        // Only after the loop, so queries always have one of the two to use
+        List<String> dropped = RETIRED_INDEXES.stream()
+                .filter(existing::contains)
+                .toList();
+        dropped.forEach(indexOps::dropIndex);
+
+        log.info("User index migration finished, created {}, dropped {}, {} already present",
+                created, dropped, existing.size());
+
+        return created;
+    }
+
+    // One listIndexes round trip, no builds. Create relies on the unique email index to
+    // reject duplicates, so starting without it would silently accept them
+    public void verifyRequired() {
+
+        boolean uniqueEmail = mongoTemplate.indexOps(User.class).getIndexInfo().stream()
+                .anyMatch(index -> index.isUnique()
+                        && index.getIndexFields().size() == 1
+                        && "email".equals(index.getIndexFields().get(0).getKey()));
+
+        if (!uniqueEmail) {
+            throw new IllegalStateException("Unique email index is missing; run the index migration "
+                    + "(--user.index-migration.enabled=true) before starting instances");
+        }
+    }
+
+    private List<IndexDefinition> declaredIndexes() {
+        List<IndexDefinition> indexes = new ArrayList<>();
+        new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(User.class)
+                .forEach(indexes::add);
+        return indexes;
+    }
+}
@@ -0,0 +1,223 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.util.UserIdNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collapses concurrent findById calls into one {@code _id: {$in: [...]}} query.
+ * <p>
+ * The first caller to find no open batch opens one and becomes its leader: it waits
+ * for the window to pass or the batch to fill, then runs the query on its own thread
+ * and hands each waiter its user. There is no dispatcher thread, so nothing has to be
+ * started before the first request. The same id asked for twice while a batch is
+ * open is only queried once. Once a batch is closed new callers go into the next
+ * one, so nobody is handed a read that was sent before their request arrived.
+ * <p>
+ * Ids are matched in the form Mongo returns them: a requested id that parses as an
+ * ObjectId is queried as one whatever its hex case, and comes back as lowercase hex.
+ */
+@Component
+public class UserLookupBatcher {
+
+    private final UserRepository userRepository;
+
+    private final boolean enabled;
+
+    private final long windowNanos;
+
+    private final int maxBatchSize;
+
+    private final Counter lookups;
+
+    private final DistributionSummary batchSizes;
+
+    // ReentrantLock rather than synchronized so virtual-thread callers do not pin
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Batch open;
+
+    public UserLookupBatcher(
+            UserRepository userRepository,
+            @Value("${user.lookup.batching.enabled:true}") boolean enabled,
+            @Value("${user.lookup.batching.window:500us}") Duration window,
+            @Value("${user.lookup.batching.max-size:100}") int maxBatchSize,
+            MeterRegistry meterRegistry) {
+
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+
+        this.lookups = Counter.builder("user.lookup.requests")
+                .description("Users asked for by id")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("user.lookup.batch.size")
+                .description("Distinct ids per Mongo query, the count is the number of queries")
+                .register(meterRegistry);
+    }
+
+    public Optional<User> findById(String id) {
+
+        lookups.increment();
+
+        if (!enabled) {
+            batchSizes.record(1);
+            return userRepository.findById(id);
+        }
+
+        Enqueued enqueued = enqueue(key(id));
+
+        if (enqueued.leader()) {
+            enqueued.batch().awaitFull(windowNanos);
+            dispatch(enqueued.batch());
+        }
+
+        return join(enqueued.result());
+    }
+
+    // Found users by id in the order asked for, unknown ids are left out
+    public Map<String, User> findAllById(Collection<String> ids) {
+
+        lookups.increment(ids.size());
+
+        if (!enabled) {
+            batchSizes.record(ids.size());
+            Map<String, User> byKey = new HashMap<>();
+            userRepository.findAllById(ids).forEach(user -> byKey.put(user.getId(), user));
+
+            Map<String, User> found = new LinkedHashMap<>();
+            for (String id : ids) {
+                User user = byKey.get(key(id));
+                if (user != null) {
+                    found.put(id, user);
+                }
+            }
+            return found;
+        }
+
+        Map<String, CompletableFuture<Optional<User>>> results = new LinkedHashMap<>();
+        List<Batch> led = new ArrayList<>();
+
+        for (String id : ids) {
+            if (!results.containsKey(id)) {
+                Enqueued enqueued = enqueue(key(id));
+                results.put(id, enqueued.result());
+                if (enqueued.leader()) {
+                    led.add(enqueued.batch());
+                }
+            }
+        }
+
+        // The caller already brings a batch of its own, no point waiting out the window
+        led.forEach(this::dispatch);
+
+        Map<String, User> found = new LinkedHashMap<>();
+        results.forEach((id, result) -> join(result).ifPresent(user -> found.put(id, user)));
+
+        return found;
+    }
+
+    private Enqueued enqueue(String id) {
+
+        lock.lock();
+        try {
+            boolean leader = open == null;
+            if (leader) {
+                open = new Batch();
+            }
+
+            Batch batch = open;
+            CompletableFuture<Optional<User>> result = batch.lookups.computeIfAbsent(id, key -> new CompletableFuture<>());
+
+            if (batch.lookups.size() >= maxBatchSize) {
+                open = null;
+                batch.full.countDown();
+            }
+
+            return new Enqueued(batch, result, leader);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch(Batch batch) {
+
+        lock.lock();
+        try {
+            if (open == batch) {
+                open = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Closed above, so the id set no longer changes; keys are canonical, so they match the returned ids
+        Map<String, CompletableFuture<Optional<User>>> pending = batch.lookups;
+        batchSizes.record(pending.size());
+
+        try {
+            Map<String, User> found = new LinkedHashMap<>();
+            userRepository.findAllById(pending.keySet()).forEach(user -> found.put(user.getId(), user));
+
+            pending.forEach((id, result) -> result.complete(Optional.ofNullable(found.get(id))));
+
+        } catch (RuntimeException ex) {
+            pending.values().forEach(result -> result.completeExceptionally(ex));
+        }
+    }
+
+    // The id as the returned document carries it, so a found user can be matched back to the lookup
+    private static String key(String id) {
+        return UserIdNormalizer.normalize(id);
+    }
+
+    // Rethrow the query's own exception rather than a CompletionException
+    private static Optional<User> join(CompletableFuture<Optional<User>> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static final class Batch {
+
+        // Guarded by the batcher lock until the batch is closed
+        private final Map<String, CompletableFuture<Optional<User>>> lookups = new LinkedHashMap<>();
+
+        private final CountDownLatch full = new CountDownLatch(1);
+
+        private void awaitFull(long windowNanos) {
+            try {
+                full.await(windowNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private record Enqueued(Batch batch, CompletableFuture<Optional<User>> result, boolean leader) {
+    }
+}
@@ -10,17 +10,10 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
 
     Optional<User> findByEmail(String email);
 
-    //search by name or email
-    Page<User> findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
-            String name,
-            String email,
-            Pageable pageable
-    );
-
     //filtering by status
     Page<User> findByStatus(UserStatus status, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserField;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import org.bson.Document;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface UserRepositoryCustom {
+
+    //keyset page ordered by createdAt DESC, id DESC, starting after the given position
+    List<User> findPageAfter(Instant createdAt, String id, UserStatus status, int limit);
+
+    //sets status and updatedAt in a single findAndModify, expectedVersion null skips the version check
+    Optional<StatusChange> updateStatus(String id, UserStatus status, Long expectedVersion);
+
+    //single findAndRemove, returns the removed user (id and status only)
+    Optional<User> removeById(String id);
+
+    //id and status only, for the given ids
+    List<User> findStatusesByIds(Collection<String> ids);
+
+    //next batch (id and status only, ordered by id) of users matching the filter whose status differs from targetStatus
+    List<User> findStatusChangeCandidates(
+            UserStatus currentStatus,
+            Instant createdBefore,
+            String search,
+            UserStatus targetStatus,
+            String afterId,
+            int limit
+    );
+
+    //one conditional update per id, applied only while the user is still in the status seen for it; returns the ids it applied to
+    Set<String> updateStatusesFrom(Map<String, UserStatus> seen, UserStatus status);
+
+    //cursor over all users (optionally one status) projected to response fields, caller must close it
+    Stream<User> streamForExport(UserStatus status, int batchSize);
+
+    //newest-first slice of users matching every filter that is set; search is a case-insensitive substring match on name or email
+    //fields limits what is read from Mongo, null reads every response field; documents go straight into responses
+    List<UserResponse> findResponses(UserFilter filter, long offset, int limit, Set<UserField> fields);
+
+    //number of users matching every filter that is set
+    long countUsers(UserFilter filter);
+
+    //single user with only the given fields read from Mongo
+    Optional<User> findProjectedById(String id, Set<UserField> fields);
+
+    //queryPlanner explain of the exact query findResponses runs for the same arguments
+    Document explainFindResponses(UserFilter filter, long offset, int limit, Set<UserField> fields);
+
+    //unordered bulk insert, duplicates and other per-document errors do not abort the batch
+    BulkInsertResult insertUnordered(List<User> users);
+
+    //fills searchTokens for up to batchSize users that lack them, returns how many were updated
+    int backfillSearchTokens(int batchSize);
+
+    //sets createdAt from the ObjectId timestamp for up to batchSize users that lack it, returns how many were updated
+    int backfillCreatedAt(int batchSize);
+
+    //user count per status in one aggregation; users without a status are not counted
+    Map<UserStatus, Long> countByStatus();
+
+    //users created on or after since, grouped by UTC day of createdAt
+    Map<LocalDate, Long> countSignupsPerDay(Instant since);
+}
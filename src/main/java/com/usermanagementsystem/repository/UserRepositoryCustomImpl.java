@@ -0,0 +1,371 @@
+package com.usermanagementsystem.repository;
+
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserField;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.search.SearchTokenizer;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final int DUPLICATE_KEY_CODE = 11000;
+
+    private static final int OBJECT_ID_BSON_TYPE = 7;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ReadRouting readRouting;
+
+    @Override
+    public List<User> findPageAfter(Instant createdAt, String id, UserStatus status, int limit) {
+
+        Query query = new Query();
+
+        if (status != null) {
+            query.addCriteria(Criteria.where("status").is(status));
+        }
+
+        if (id != null) {
+            query.addCriteria(UserCriteria.seekAfter(createdAt, id));
+        }
+
+        // Matches the {createdAt:-1, _id:-1} compound index, so no in-memory sort and no skip
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        query.limit(limit);
+
+        return mongoTemplate.find(readRouting.staleTolerant(query, "list"), User.class);
+    }
+
+    @Override
+    public Optional<StatusChange> updateStatus(String id, UserStatus status, Long expectedVersion) {
+
+        Query query = Query.query(Criteria.where("id").is(id));
+
+        if (expectedVersion != null) {
+            query.addCriteria(UserCriteria.version(expectedVersion));
+        }
+
+        Instant updatedAt = Instant.now();
+
+        User before = mongoTemplate.findAndModify(
+                query,
+                UserCriteria.statusChange(status, updatedAt),
+                FindAndModifyOptions.options().returnNew(false),
+                User.class
+        );
+
+        return Optional.ofNullable(before).map(user -> StatusChange.fromPreImage(user, status, updatedAt));
+    }
+
+    @Override
+    public Optional<User> removeById(String id) {
+
+        Query query = Query.query(Criteria.where("id").is(id));
+        query.fields().include("status");
+
+        return Optional.ofNullable(mongoTemplate.findAndRemove(query, User.class));
+    }
+
+    @Override
+    public List<User> findStatusesByIds(Collection<String> ids) {
+
+        Query query = Query.query(Criteria.where("id").in(ids));
+        query.fields().include("status");
+
+        return mongoTemplate.find(query, User.class);
+    }
+
+    @Override
+    public List<User> findStatusChangeCandidates(
+            UserStatus currentStatus,
+            Instant createdBefore,
+            String search,
+            UserStatus targetStatus,
+            String afterId,
+            int limit) {
+
+        if (currentStatus == targetStatus) {
+            return List.of();
+        }
+
+        // A concrete current status already excludes the target status
+        Query query = Query.query(currentStatus != null
+                ? Criteria.where("status").is(currentStatus)
+                : Criteria.where("status").ne(targetStatus));
+
+        if (createdBefore != null) {
+            query.addCriteria(Criteria.where("createdAt").lt(createdBefore));
+        }
+
+        if (search != null && !search.isBlank()) {
+            query.addCriteria(UserCriteria.search(search));
+        }
+
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("id").gt(afterId));
+        }
+
+        query.fields().include("status");
+        query.with(Sort.by(Sort.Direction.ASC, "id"));
+        query.limit(limit);
+
+        return mongoTemplate.find(query, User.class);
+    }
+
+    @Override
+    public Set<String> updateStatusesFrom(Map<String, UserStatus> seen, UserStatus status) {
+
+        if (seen.isEmpty()) {
+            return Set.of();
+        }
+
+        // As stored, the read-back below compares against this value
+        Instant updatedAt = UserCriteria.stored(Instant.now());
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+
+        // Conditioned on the status that was read, so a user changed in between is left alone
+        seen.forEach((id, previous) -> bulk.updateOne(
+                Query.query(Criteria.where("id").is(id).and("status").is(previous)),
+                UserCriteria.statusChange(status, updatedAt)
+        ));
+
+        if (bulk.execute().getMatchedCount() == seen.size()) {
+            return seen.keySet();
+        }
+
+        // The bulk result only carries totals; find out which ids this batch wrote. Another writer
+        // setting the same status in the same millisecond is indistinguishable and counts as applied
+        Query applied = Query.query(Criteria.where("id").in(seen.keySet())
+                .and("status").is(status)
+                .and("updatedAt").is(updatedAt));
+        applied.fields().include("_id");
+
+        return mongoTemplate.find(applied, User.class).stream()
+                .map(User::getId)
+                .collect(Collectors.toSet());
+    }
+
+
+    @Override
+    public Stream<User> streamForExport(UserStatus status, int batchSize) {
+
+        Query query = new Query();
+
+        if (status != null) {
+            query.addCriteria(Criteria.where("status").is(status));
+        }
+
+        // Natural order: no sort to pay for; searchTokens is never read
+        query.fields().include("name", "email", "status", "createdAt", "updatedAt", "version");
+        query.cursorBatchSize(batchSize);
+
+        return mongoTemplate.stream(readRouting.staleTolerant(query, "export"), User.class);
+    }
+
+    @Override
+    public List<UserResponse> findResponses(UserFilter filter, long offset, int limit, Set<UserField> fields) {
+
+        Query query = UserCriteria.listPage(filter, offset, limit, fields);
+
+        // Only UserResponse properties are selected, searchTokens never leave Mongo
+        return mongoTemplate.query(User.class)
+                .as(UserResponse.class)
+                .matching(readRouting.staleTolerant(query, filter.hasSearch() ? "search" : "list"))
+                .all();
+    }
+
+    @Override
+    public long countUsers(UserFilter filter) {
+        return mongoTemplate.count(readRouting.staleTolerant(UserCriteria.filter(filter), "count"), User.class);
+    }
+
+    @Override
+    public Optional<User> findProjectedById(String id, Set<UserField> fields) {
+
+        Query query = UserCriteria.project(Query.query(Criteria.where("id").is(id)), fields);
+
+        return Optional.ofNullable(mongoTemplate.findOne(query, User.class));
+    }
+
+    @Override
+    public Document explainFindResponses(UserFilter filter, long offset, int limit, Set<UserField> fields) {
+
+        Query query = UserCriteria.listPage(filter, offset, limit, fields);
+
+        // Same mapping the template applies (id -> _id, enums, Instants), so the explained query is the real one
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter()
+                .getMappingContext()
+                .getRequiredPersistentEntity(User.class);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class))
+                .find(queryMapper.getMappedObject(query.getQueryObject(), entity))
+                .projection(queryMapper.getMappedFields(query.getFieldsObject(), entity))
+                .sort(queryMapper.getMappedSort(query.getSortObject(), entity))
+                .skip((int) query.getSkip())
+                .limit(query.getLimit())
+                .explain(ExplainVerbosity.QUERY_PLANNER);
+    }
+
+    @Override
+    public BulkInsertResult insertUnordered(List<User> users) {
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        bulk.insert(users);
+
+        try {
+            BulkWriteResult result = bulk.execute();
+            return new BulkInsertResult(result.getInsertedCount(), Map.of());
+
+        } catch (BulkOperationException ex) {
+            Map<Integer, String> failures = new HashMap<>();
+
+            for (BulkWriteError error : ex.getErrors()) {
+                failures.put(
+                        error.getIndex(),
+                        error.getCode() == DUPLICATE_KEY_CODE
+                                ? "User with this email already exists"
+                                : error.getMessage()
+                );
+            }
+
+            return new BulkInsertResult(ex.getResult().getInsertedCount(), failures);
+        }
+    }
+
+    @Override
+    public int backfillSearchTokens(int batchSize) {
+
+        Query missing = new Query(Criteria.where("searchTokens").exists(false)).limit(batchSize);
+        missing.fields().include("name", "email");
+
+        List<User> users = mongoTemplate.find(missing, User.class);
+
+        if (users.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+
+        for (User user : users) {
+            bulk.updateOne(
+                    Query.query(Criteria.where("id").is(user.getId())),
+                    Update.update("searchTokens", SearchTokenizer.indexTokens(user.getName(), user.getEmail()))
+            );
+        }
+
+        bulk.execute();
+
+        return users.size();
+    }
+
+    @Override
+    public int backfillCreatedAt(int batchSize) {
+
+        // null matches missing too and is an equality on the {createdAt, _id} index; ids that are not
+        // ObjectIds have no timestamp to derive from and are skipped so the loop always ends
+        Query missing = new Query(Criteria.where("createdAt").is(null).and("_id").type(OBJECT_ID_BSON_TYPE))
+                .limit(batchSize);
+        missing.fields().include("_id");
+
+        List<Document> users = mongoTemplate.find(missing, Document.class, mongoTemplate.getCollectionName(User.class));
+
+        if (users.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+
+        for (Document user : users) {
+            ObjectId id = user.getObjectId("_id");
+
+            // The representation changes, so the version (and with it the ETag) moves on
+            bulk.updateOne(
+                    Query.query(Criteria.where("_id").is(id).and("createdAt").is(null)),
+                    new Update()
+                            .set("createdAt", id.getDate().toInstant())
+                            .inc("version", 1)
+            );
+        }
+
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public Map<UserStatus, Long> countByStatus() {
+
+        // Sorting on status and keeping only status lets the {status, createdAt, _id} index cover the scan.
+        // Primary only: reconcile adds local deltas to this snapshot, a lagging one would lose writes
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.sort(Sort.Direction.ASC, "status"),
+                Aggregation.project("status").andExclude("_id"),
+                Aggregation.group("status").count().as("count")
+        );
+
+        Map<UserStatus, Long> counts = new EnumMap<>(UserStatus.class);
+
+        for (Document row : mongoTemplate.aggregate(aggregation, User.class, Document.class)) {
+            Object status = row.get("_id");
+
+            if (status != null) {
+                counts.put(UserStatus.valueOf(status.toString()), ((Number) row.get("count")).longValue());
+            }
+        }
+
+        return counts;
+    }
+
+    @Override
+    public Map<LocalDate, Long> countSignupsPerDay(Instant since) {
+
+        // Range match and projection both stay on the {createdAt, _id} index. Primary only, as countByStatus
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("createdAt").gte(since)),
+                Aggregation.project()
+                        .and(DateOperators.DateToString.dateOf("createdAt").toString("%Y-%m-%d")).as("day")
+                        .andExclude("_id"),
+                Aggregation.group("day").count().as("count")
+        );
+
+        Map<LocalDate, Long> counts = new TreeMap<>();
+
+        for (Document row : mongoTemplate.aggregate(aggregation, User.class, Document.class)) {
+            counts.put(LocalDate.parse(row.getString("_id")), ((Number) row.get("count")).longValue());
+        }
+
+        return counts;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,640 @@
+package com.usermanagementsystem.repository.embedded;
+
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserField;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.mapper.UserMapper;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.BulkInsertResult;
+import com.usermanagementsystem.repository.StatusChange;
+import com.usermanagementsystem.repository.UserFilter;
+import com.usermanagementsystem.repository.UserRepository;
+import com.usermanagementsystem.search.SearchTokenizer;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link UserRepository} backed by {@link EmbeddedUserStore} instead of Mongo, for
+ * single-node deployments where a round trip per query is the dominant cost.
+ * <p>
+ * Behaves like the Mongo implementation where callers can tell: ObjectId ids,
+ * audited timestamps, {@code @Version} checks, the unique email index, newest-first
+ * paging and projections. Search is a substring scan over the ordered index rather
+ * than an n-gram lookup, so no searchTokens are kept. Query by example is not
+ * supported. Users handed out are copies, the stored ones are never mutated.
+ */
+@Repository
+@Profile("embedded")
+@RequiredArgsConstructor
+public class EmbeddedUserRepository implements UserRepository {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    private static final String DUPLICATE_EMAIL = "User with this email already exists";
+
+    private final EmbeddedUserStore store;
+
+    // ---- MongoRepository
+
+    @Override
+    public <S extends User> S insert(S entity) {
+        store.write(() -> {
+            insertLocked(entity);
+            return null;
+        });
+        return entity;
+    }
+
+    @Override
+    public <S extends User> List<S> insert(Iterable<S> entities) {
+        return store.write(() -> {
+            List<S> inserted = new ArrayList<>();
+            entities.forEach(entity -> inserted.add(insertLocked(entity)));
+            return inserted;
+        });
+    }
+
+    @Override
+    public <S extends User> S save(S entity) {
+        store.write(() -> saveLocked(entity));
+        return entity;
+    }
+
+    @Override
+    public <S extends User> List<S> saveAll(Iterable<S> entities) {
+        return store.write(() -> {
+            List<S> saved = new ArrayList<>();
+            entities.forEach(entity -> saved.add(saveLocked(entity)));
+            return saved;
+        });
+    }
+
+    @Override
+    public Optional<User> findById(String id) {
+        return Optional.ofNullable(store.get(id)).map(EmbeddedUserRepository::copy);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return store.get(id) != null;
+    }
+
+    @Override
+    public List<User> findAll() {
+        return store.newestFirst(null, null, null).map(EmbeddedUserRepository::copy).toList();
+    }
+
+    @Override
+    public List<User> findAllById(Iterable<String> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(store::get)
+                .filter(Objects::nonNull)
+                .map(EmbeddedUserRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public List<User> findAll(Sort sort) {
+        requireNewestFirst(sort);
+        return findAll();
+    }
+
+    @Override
+    public Page<User> findAll(Pageable pageable) {
+        return page(new UserFilter(null, null, null, null), pageable);
+    }
+
+    @Override
+    public long count() {
+        return store.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        store.write(() -> {
+            store.remove(id);
+            return null;
+        });
+    }
+
+    @Override
+    public void delete(User entity) {
+        deleteById(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        store.write(() -> {
+            ids.forEach(store::remove);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends User> entities) {
+        store.write(() -> {
+            entities.forEach(entity -> store.remove(entity.getId()));
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAll() {
+        store.write(() -> {
+            store.byIdAfter(null).map(User::getId).toList().forEach(store::remove);
+            return null;
+        });
+    }
+
+    @Override
+    public <S extends User> Optional<S> findOne(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends User> List<S> findAll(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends User> List<S> findAll(Example<S> example, Sort sort) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends User> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends User> long count(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends User> boolean exists(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends User, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw queryByExampleUnsupported();
+    }
+
+    // ---- UserRepository
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return Optional.ofNullable(store.getByEmail(email)).map(EmbeddedUserRepository::copy);
+    }
+
+    @Override
+    public Page<User> findByStatus(UserStatus status, Pageable pageable) {
+        return page(new UserFilter(status, null, null, null), pageable);
+    }
+
+    // ---- UserRepositoryCustom
+
+    @Override
+    public List<User> findPageAfter(Instant createdAt, String id, UserStatus status, int limit) {
+
+        Stream<User> users = id == null
+                ? store.newestFirst(status, null, null)
+                : store.newestAfter(createdAt, id, status);
+
+        return users.limit(limit).map(EmbeddedUserRepository::copy).toList();
+    }
+
+    @Override
+    public Optional<StatusChange> updateStatus(String id, UserStatus status, Long expectedVersion) {
+
+        return store.write(() -> {
+            User before = store.get(id);
+
+            if (before == null || (expectedVersion != null && versionOf(before) != expectedVersion)) {
+                return Optional.empty();
+            }
+
+            User after = withStatus(before, status, Instant.now());
+            store.put(after);
+
+            return Optional.of(new StatusChange(before.getStatus(), copy(after)));
+        });
+    }
+
+    @Override
+    public Optional<User> removeById(String id) {
+
+        return store.write(() -> {
+            User removed = store.get(id);
+
+            if (removed == null) {
+                return Optional.empty();
+            }
+
+            store.remove(id);
+
+            return Optional.of(idAndStatus(removed));
+        });
+    }
+
+    @Override
+    public List<User> findStatusesByIds(Collection<String> ids) {
+        return ids.stream()
+                .map(store::get)
+                .filter(Objects::nonNull)
+                .map(EmbeddedUserRepository::idAndStatus)
+                .toList();
+    }
+
+    @Override
+    public List<User> findStatusChangeCandidates(
+            UserStatus currentStatus,
+            Instant createdBefore,
+            String search,
+            UserStatus targetStatus,
+            String afterId,
+            int limit) {
+
+        if (currentStatus == targetStatus) {
+            return List.of();
+        }
+
+        String term = search == null || search.isBlank() ? null : SearchTokenizer.normalize(search);
+
+        return store.byIdAfter(afterId)
+                .filter(user -> currentStatus != null
+                        ? user.getStatus() == currentStatus
+                        : user.getStatus() != targetStatus)
+                .filter(user -> createdBefore == null
+                        || (user.getCreatedAt() != null && user.getCreatedAt().isBefore(createdBefore)))
+                .filter(user -> term == null || matches(user, term))
+                .limit(limit)
+                .map(EmbeddedUserRepository::idAndStatus)
+                .toList();
+    }
+
+    @Override
+    public Set<String> updateStatusesFrom(Map<String, UserStatus> seen, UserStatus status) {
+
+        return store.write(() -> {
+            Instant updatedAt = Instant.now();
+            Set<String> applied = new HashSet<>();
+
+            seen.forEach((id, previous) -> {
+                User before = store.get(id);
+
+                if (before != null && before.getStatus() == previous) {
+                    store.put(withStatus(before, status, updatedAt));
+                    applied.add(id);
+                }
+            });
+
+            return applied;
+        });
+    }
+
+    @Override
+    public Stream<User> streamForExport(UserStatus status, int batchSize) {
+        // Nothing to batch, the stream walks memory
+        return store.newestFirst(status, null, null).map(EmbeddedUserRepository::copy);
+    }
+
+    @Override
+    public List<UserResponse> findResponses(UserFilter filter, long offset, int limit, Set<UserField> fields) {
+        // Mapped from the stored user, no defensive copy needed
+        return matching(filter)
+                .skip(offset)
+                .limit(limit)
+                .map(user -> UserMapper.toResponse(user, withId(fields)))
+                .toList();
+    }
+
+    @Override
+    public long countUsers(UserFilter filter) {
+        return count(filter);
+    }
+
+    @Override
+    public Optional<User> findProjectedById(String id, Set<UserField> fields) {
+        return Optional.ofNullable(store.get(id)).map(user -> project(user, fields));
+    }
+
+    @Override
+    public Document explainFindResponses(UserFilter filter, long offset, int limit, Set<UserField> fields) {
+
+        // Same document shape as a Mongo queryPlanner explain, so plan checks read it unchanged
+        Document scan = new Document("stage", "IXSCAN")
+                .append("indexName", "embedded_createdAt_id")
+                .append("direction", "forward");
+
+        if (filter.hasCreatedRange()) {
+            scan.append("indexBounds", new Document("createdAt", List.of(
+                    String.valueOf(filter.createdTo()), String.valueOf(filter.createdFrom()))));
+        }
+
+        Document fetch = new Document("stage", "FETCH").append("inputStage", scan);
+
+        List<String> residual = new ArrayList<>();
+        if (filter.status() != null) {
+            residual.add("status bitmap " + filter.status());
+        }
+        if (filter.hasSearch()) {
+            residual.add("substring " + SearchTokenizer.normalize(filter.search()));
+        }
+        if (!residual.isEmpty()) {
+            fetch.append("filter", residual);
+        }
+
+        Document plan = new Document("stage", "LIMIT")
+                .append("limitAmount", limit)
+                .append("inputStage", new Document("stage", "SKIP")
+                        .append("skipAmount", offset)
+                        .append("inputStage", fetch));
+
+        return new Document("queryPlanner", new Document("namespace", "embedded.users")
+                .append("winningPlan", plan));
+    }
+
+    @Override
+    public BulkInsertResult insertUnordered(List<User> users) {
+
+        return store.write(() -> {
+            int inserted = 0;
+            Map<Integer, String> failures = new HashMap<>();
+
+            for (int i = 0; i < users.size(); i++) {
+                try {
+                    insertLocked(users.get(i));
+                    inserted++;
+                } catch (DuplicateKeyException ex) {
+                    failures.put(i, DUPLICATE_EMAIL);
+                }
+            }
+
+            return new BulkInsertResult(inserted, failures);
+        });
+    }
+
+    @Override
+    public int backfillSearchTokens(int batchSize) {
+        // Search scans name and email directly, there are no tokens to maintain
+        return 0;
+    }
+
+    @Override
+    public int backfillCreatedAt(int batchSize) {
+
+        return store.write(() -> {
+            // Users without createdAt sort after Instant.MIN, ids that are not ObjectIds are skipped
+            List<User> missing = store.newestAfter(Instant.MIN, "", null)
+                    .filter(user -> user.getCreatedAt() == null && ObjectId.isValid(user.getId()))
+                    .limit(batchSize)
+                    .toList();
+
+            for (User user : missing) {
+                User backfilled = copy(user);
+                backfilled.setCreatedAt(new ObjectId(user.getId()).getDate().toInstant());
+                backfilled.setVersion(versionOf(user) + 1);
+                store.put(backfilled);
+            }
+
+            return missing.size();
+        });
+    }
+
+    @Override
+    public Map<UserStatus, Long> countByStatus() {
+
+        Map<UserStatus, Long> counts = new EnumMap<>(UserStatus.class);
+
+        for (UserStatus status : UserStatus.values()) {
+            long count = store.count(status);
+
+            if (count > 0) {
+                counts.put(status, count);
+            }
+        }
+
+        return counts;
+    }
+
+    @Override
+    public Map<LocalDate, Long> countSignupsPerDay(Instant since) {
+        return store.newestFirst(null, since, null)
+                .collect(Collectors.groupingBy(
+                        user -> LocalDate.ofInstant(user.getCreatedAt(), ZoneOffset.UTC),
+                        TreeMap::new,
+                        Collectors.counting()
+                ));
+    }
+
+    // ---- helpers
+
+    private Page<User> page(UserFilter filter, Pageable pageable) {
+
+        requireNewestFirst(pageable.getSort());
+
+        Stream<User> matching = matching(filter);
+
+        if (pageable.isPaged()) {
+            matching = matching.skip(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+
+        List<User> users = matching.map(EmbeddedUserRepository::copy).toList();
+
+        return PageableExecutionUtils.getPage(users, pageable, () -> count(filter));
+    }
+
+    private Stream<User> matching(UserFilter filter) {
+
+        Stream<User> users = store.newestFirst(filter.status(), filter.createdFrom(), filter.createdTo());
+
+        if (filter.hasSearch()) {
+            String term = SearchTokenizer.normalize(filter.search());
+            users = users.filter(user -> matches(user, term));
+        }
+
+        return users;
+    }
+
+    // Status alone is answered from the bitmap cardinality, anything else is counted by a walk
+    private long count(UserFilter filter) {
+
+        if (!filter.hasSearch() && !filter.hasCreatedRange()) {
+            return filter.status() == null ? store.size() : store.count(filter.status());
+        }
+
+        return matching(filter).count();
+    }
+
+    private <S extends User> S insertLocked(S entity) {
+
+        if (entity.getId() == null) {
+            entity.setId(new ObjectId().toHexString());
+        } else if (store.get(entity.getId()) != null) {
+            throw new DuplicateKeyException("Duplicate id " + entity.getId());
+        }
+
+        requireUniqueEmail(entity);
+
+        Instant now = Instant.now();
+        if (entity.getCreatedAt() == null) {
+            entity.setCreatedAt(now);
+        }
+        entity.setUpdatedAt(now);
+        if (entity.getVersion() == null) {
+            entity.setVersion(0L);
+        }
+
+        store.put(copy(entity));
+
+        return entity;
+    }
+
+    // Spring Data semantics: no id or no version is new, otherwise the stored version must match
+    private <S extends User> S saveLocked(S entity) {
+
+        if (entity.getId() == null || entity.getVersion() == null) {
+            return insertLocked(entity);
+        }
+
+        User before = store.get(entity.getId());
+
+        if (before == null || versionOf(before) != entity.getVersion()) {
+            throw new OptimisticLockingFailureException(
+                    "User " + entity.getId() + " with version " + entity.getVersion() + " not found");
+        }
+
+        requireUniqueEmail(entity);
+
+        entity.setUpdatedAt(Instant.now());
+        entity.setVersion(entity.getVersion() + 1);
+
+        store.put(copy(entity));
+
+        return entity;
+    }
+
+    private void requireUniqueEmail(User entity) {
+
+        if (entity.getEmail() == null) {
+            return;
+        }
+
+        User owner = store.getByEmail(entity.getEmail());
+
+        if (owner != null && !owner.getId().equals(entity.getId())) {
+            throw new DuplicateKeyException(DUPLICATE_EMAIL);
+        }
+    }
+
+    private static boolean matches(User user, String term) {
+        return SearchTokenizer.normalize(user.getName()).contains(term)
+                || SearchTokenizer.normalize(user.getEmail()).contains(term);
+    }
+
+    // Documents written before @Version existed count as version 0
+    private static long versionOf(User user) {
+        return user.getVersion() == null ? 0L : user.getVersion();
+    }
+
+    private static User withStatus(User before, UserStatus status, Instant updatedAt) {
+        User after = copy(before);
+        after.setStatus(status);
+        after.setUpdatedAt(updatedAt);
+        after.setVersion(versionOf(before) + 1);
+        return after;
+    }
+
+    private static User idAndStatus(User user) {
+        return User.builder().id(user.getId()).status(user.getStatus()).build();
+    }
+
+    private static void requireNewestFirst(Sort sort) {
+        if (sort.isSorted() && !sort.equals(NEWEST_FIRST)) {
+            throw new UnsupportedOperationException("Embedded storage only pages newest first, not by " + sort);
+        }
+    }
+
+    private static UnsupportedOperationException queryByExampleUnsupported() {
+        return new UnsupportedOperationException("Query by example is not supported by embedded storage");
+    }
+
+    // Id always comes back, like _id from Mongo; null selects every field
+    private static User project(User user, Set<UserField> fields) {
+
+        if (fields == null) {
+            return copy(user);
+        }
+
+        User projected = User.builder().id(user.getId()).build();
+
+        for (UserField field : fields) {
+            switch (field) {
+                case ID -> { }
+                case NAME -> projected.setName(user.getName());
+                case EMAIL -> projected.setEmail(user.getEmail());
+                case STATUS -> projected.setStatus(user.getStatus());
+                case CREATED_AT -> projected.setCreatedAt(user.getCreatedAt());
+                case UPDATED_AT -> projected.setUpdatedAt(user.getUpdatedAt());
+                case VERSION -> projected.setVersion(user.getVersion());
+            }
+        }
+
+        return projected;
+    }
+
+    // Id always comes back, like _id from Mongo
+    private static Set<UserField> withId(Set<UserField> fields) {
+        if (fields == null || fields.contains(UserField.ID)) {
+            return fields;
+        }
+        Set<UserField> withId = EnumSet.of(UserField.ID);
+        withId.addAll(fields);
+        return withId;
+    }
+
+    private static User copy(User user) {
+        return User.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .status(user.getStatus())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .version(user.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,444 @@
+package com.usermanagementsystem.repository.embedded;
+
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory user storage with its own durability, for deployments without Mongo.
+ * <p>
+ * Users live in a chunked slot table. A hash index maps id and email to a slot, a
+ * bitmap per status marks the slots in that status, and a skip list keeps slots in
+ * (createdAt DESC, id DESC) order, the order every list endpoint pages in. Stored
+ * users are never modified in place, a write swaps in a new instance.
+ * <p>
+ * Reads take no lock: they go through concurrent maps, atomic arrays and the
+ * bitmaps. Writes are serialized by one lock, appended to the write-ahead log and
+ * then applied. A snapshot rotates the log, copies the slot table under the lock and
+ * writes the copy outside it; recovery loads the snapshot and replays only the logs
+ * written after it, so restart time follows snapshot size rather than history.
+ */
+@Slf4j
+public class EmbeddedUserStore implements Closeable {
+
+    private static final int CHUNK_BITS = 12;
+
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private final Path directory;
+
+    private final boolean syncEveryWrite;
+
+    // ReentrantLock rather than synchronized so virtual-thread writers do not pin
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    private final Map<String, Integer> slotById = new ConcurrentHashMap<>();
+
+    private final Map<String, Integer> slotByEmail = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<String, Integer> idOrder = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentSkipListMap<OrderKey, Integer> newestFirst = new ConcurrentSkipListMap<>();
+
+    private final Map<UserStatus, StatusBitmap> byStatus = new EnumMap<>(UserStatus.class);
+
+    private volatile AtomicReferenceArray<User>[] chunks = newChunks(16);
+
+    // Writer only
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+
+    private int nextSlot;
+
+    private long writesSinceSnapshot;
+
+    private final WriteAheadLog writeAheadLog;
+
+    public EmbeddedUserStore(Path directory, boolean syncEveryWrite, int logWindowBytes) {
+
+        this.directory = directory;
+        this.syncEveryWrite = syncEveryWrite;
+
+        for (UserStatus status : UserStatus.values()) {
+            byStatus.put(status, new StatusBitmap());
+        }
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        this.writeAheadLog = new WriteAheadLog(directory, recover() + 1, logWindowBytes);
+    }
+
+    /**
+     * Position in the (createdAt DESC, id DESC) order. Users without createdAt sort
+     * last; an empty id sorts after every real id with the same createdAt, which makes
+     * it a bound for range queries.
+     */
+    record OrderKey(Instant createdAt, String id) implements Comparable<OrderKey> {
+
+        static OrderKey of(User user) {
+            return new OrderKey(user.getCreatedAt(), user.getId());
+        }
+
+        @Override
+        public int compareTo(OrderKey other) {
+            if (createdAt == null || other.createdAt == null) {
+                if (createdAt != other.createdAt) {
+                    return createdAt == null ? 1 : -1;
+                }
+            } else {
+                int byTime = other.createdAt.compareTo(createdAt);
+                if (byTime != 0) {
+                    return byTime;
+                }
+            }
+            return other.id.compareTo(id);
+        }
+    }
+
+    // ---- reads
+
+    public User get(String id) {
+        Integer slot = slotById.get(id);
+        return slot == null ? null : userAt(slot, id);
+    }
+
+    public User getByEmail(String email) {
+        Integer slot = slotByEmail.get(email);
+        User user = slot == null ? null : userAt(slot);
+        return user != null && email.equals(user.getEmail()) ? user : null;
+    }
+
+    public int size() {
+        return slotById.size();
+    }
+
+    public long count(UserStatus status) {
+        return byStatus.get(status).cardinality();
+    }
+
+    // Newest first within [from, to); status, from and to may each be null
+    public Stream<User> newestFirst(UserStatus status, Instant from, Instant to) {
+
+        if (from != null && to != null && !from.isBefore(to)) {
+            return Stream.empty();
+        }
+
+        ConcurrentNavigableMap<OrderKey, Integer> range = newestFirst;
+
+        if (to != null) {
+            range = range.tailMap(new OrderKey(to, ""), false);
+        }
+        if (from != null) {
+            range = range.headMap(new OrderKey(from, ""), true);
+        }
+
+        Stream<User> users = walk(range, status);
+
+        // Range comparisons never match a missing createdAt
+        return from == null && to == null ? users : users.filter(user -> user.getCreatedAt() != null);
+    }
+
+    // Newest first, strictly after the given position
+    public Stream<User> newestAfter(Instant createdAt, String id, UserStatus status) {
+        return walk(newestFirst.tailMap(new OrderKey(createdAt, id), false), status);
+    }
+
+    // Ascending id order, strictly after afterId when it is set
+    public Stream<User> byIdAfter(String afterId) {
+        ConcurrentNavigableMap<String, Integer> range = afterId == null ? idOrder : idOrder.tailMap(afterId, false);
+        return range.entrySet().stream()
+                .map(entry -> userAt(entry.getValue(), entry.getKey()))
+                .filter(Objects::nonNull);
+    }
+
+    // ---- writes
+
+    // Runs the work under the write lock; put and remove may only be called from inside
+    public <T> T write(Supplier<T> work) {
+        writeLock.lock();
+        try {
+            T result = work.get();
+            if (syncEveryWrite) {
+                writeAheadLog.force();
+            }
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void put(User user) {
+        requireWriteLock();
+        writeAheadLog.append(WriteAheadLog.PUT, UserCodec.encode(user));
+        apply(user);
+        writesSinceSnapshot++;
+    }
+
+    void remove(String id) {
+        requireWriteLock();
+        writeAheadLog.append(WriteAheadLog.DELETE, id.getBytes(StandardCharsets.UTF_8));
+        applyDelete(id);
+        writesSinceSnapshot++;
+    }
+
+    // ---- durability
+
+    // Flushes the log; with sync-every-write off this bounds how much a crash can lose
+    public void force() {
+        writeLock.lock();
+        try {
+            writeAheadLog.force();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void snapshot() {
+
+        snapshotLock.lock();
+        try {
+            long covered;
+            List<User> users;
+
+            writeLock.lock();
+            try {
+                if (writesSinceSnapshot == 0) {
+                    return;
+                }
+                covered = writeAheadLog.rotate();
+                users = currentUsers();
+                writesSinceSnapshot = 0;
+            } finally {
+                writeLock.unlock();
+            }
+
+            long started = System.nanoTime();
+            SnapshotFile.write(directory, covered, users);
+            writeAheadLog.deleteUpTo(covered);
+
+            log.info("Embedded user snapshot of {} users written in {} ms",
+                    users.size(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        snapshot();
+        writeLock.lock();
+        try {
+            writeAheadLog.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Returns the newest generation seen, the new log starts after it
+    private long recover() {
+
+        long started = System.nanoTime();
+
+        Optional<SnapshotFile.Snapshot> snapshot = SnapshotFile.read(directory);
+        long covered = snapshot.map(SnapshotFile.Snapshot::generation).orElse(0L);
+        snapshot.ifPresent(loaded -> loaded.users().forEach(this::apply));
+
+        long last = covered;
+        long replayed = 0;
+
+        for (Path file : WriteAheadLog.files(directory)) {
+            long generation = WriteAheadLog.generationOf(file);
+
+            // Left behind by a crash between writing a snapshot and deleting what it covers
+            if (generation <= covered) {
+                continue;
+            }
+
+            replayed += WriteAheadLog.replay(file, (type, payload) -> {
+                if (type == WriteAheadLog.PUT) {
+                    apply(UserCodec.decode(payload));
+                } else if (type == WriteAheadLog.DELETE) {
+                    applyDelete(StandardCharsets.UTF_8.decode(payload).toString());
+                }
+            });
+            last = Math.max(last, generation);
+        }
+
+        // Replayed writes are only in logs, the next snapshot folds them in
+        writesSinceSnapshot = replayed;
+
+        log.info("Embedded user store recovered {} users ({} from snapshot, {} log records) in {} ms",
+                size(), snapshot.map(loaded -> loaded.users().size()).orElse(0), replayed,
+                (System.nanoTime() - started) / 1_000_000);
+
+        return last;
+    }
+
+    private void apply(User user) {
+
+        Integer existing = slotById.get(user.getId());
+
+        if (existing == null) {
+            int slot = allocateSlot();
+            setSlot(slot, user);
+            slotById.put(user.getId(), slot);
+            idOrder.put(user.getId(), slot);
+            if (user.getEmail() != null) {
+                slotByEmail.put(user.getEmail(), slot);
+            }
+            if (user.getStatus() != null) {
+                byStatus.get(user.getStatus()).set(slot);
+            }
+            newestFirst.put(OrderKey.of(user), slot);
+            return;
+        }
+
+        int slot = existing;
+        User before = userAt(slot);
+        setSlot(slot, user);
+
+        // New entries go in before stale ones come out, so readers never miss the user
+        if (!Objects.equals(before.getEmail(), user.getEmail())) {
+            if (user.getEmail() != null) {
+                slotByEmail.put(user.getEmail(), slot);
+            }
+            if (before.getEmail() != null) {
+                slotByEmail.remove(before.getEmail(), slot);
+            }
+        }
+
+        if (before.getStatus() != user.getStatus()) {
+            if (user.getStatus() != null) {
+                byStatus.get(user.getStatus()).set(slot);
+            }
+            if (before.getStatus() != null) {
+                byStatus.get(before.getStatus()).clear(slot);
+            }
+        }
+
+        if (!Objects.equals(before.getCreatedAt(), user.getCreatedAt())) {
+            newestFirst.put(OrderKey.of(user), slot);
+            newestFirst.remove(OrderKey.of(before), slot);
+        }
+    }
+
+    private void applyDelete(String id) {
+
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+
+        User before = userAt(slot);
+        idOrder.remove(id, slot);
+        newestFirst.remove(OrderKey.of(before), slot);
+        if (before.getEmail() != null) {
+            slotByEmail.remove(before.getEmail(), slot);
+        }
+        if (before.getStatus() != null) {
+            byStatus.get(before.getStatus()).clear(slot);
+        }
+
+        setSlot(slot, null);
+        freeSlots.push(slot);
+    }
+
+    // Index entries are read without a lock, so a slot may have been reused since; match on id
+    private Stream<User> walk(Map<OrderKey, Integer> range, UserStatus status) {
+
+        StatusBitmap bitmap = status == null ? null : byStatus.get(status);
+
+        return range.entrySet().stream()
+                .filter(entry -> bitmap == null || bitmap.get(entry.getValue()))
+                .map(entry -> userAt(entry.getValue(), entry.getKey().id()))
+                .filter(user -> user != null && (status == null || user.getStatus() == status));
+    }
+
+    private List<User> currentUsers() {
+        List<User> users = new ArrayList<>(slotById.size());
+        for (int slot = 0; slot < nextSlot; slot++) {
+            User user = userAt(slot);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    private User userAt(int slot, String expectedId) {
+        User user = userAt(slot);
+        return user != null && user.getId().equals(expectedId) ? user : null;
+    }
+
+    private User userAt(int slot) {
+        AtomicReferenceArray<User>[] current = chunks;
+        int chunk = slot >>> CHUNK_BITS;
+        if (chunk >= current.length || current[chunk] == null) {
+            return null;
+        }
+        return current[chunk].get(slot & (CHUNK_SIZE - 1));
+    }
+
+    private void setSlot(int slot, User user) {
+
+        AtomicReferenceArray<User>[] current = chunks;
+        int chunk = slot >>> CHUNK_BITS;
+
+        if (chunk >= current.length) {
+            AtomicReferenceArray<User>[] grown = newChunks(current.length * 2);
+            System.arraycopy(current, 0, grown, 0, current.length);
+            current = grown;
+            chunks = grown;
+        }
+        if (current[chunk] == null) {
+            current[chunk] = new AtomicReferenceArray<>(CHUNK_SIZE);
+            // Republish so readers see the new chunk
+            chunks = current;
+        }
+
+        current[chunk].set(slot & (CHUNK_SIZE - 1), user);
+    }
+
+    private int allocateSlot() {
+        Integer free = freeSlots.poll();
+        return free != null ? free : nextSlot++;
+    }
+
+    private void requireWriteLock() {
+        if (!writeLock.isHeldByCurrentThread()) {
+            throw new IllegalStateException("Writes must run inside EmbeddedUserStore.write");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AtomicReferenceArray<User>[] newChunks(int size) {
+        return new AtomicReferenceArray[size];
+    }
+}
@@ -0,0 +1,118 @@
+package com.usermanagementsystem.repository.embedded;
+
+import com.usermanagementsystem.model.User;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Point-in-time copy of every user, tagged with the last log generation it covers.
+ * Written to a temporary file, synced and then renamed over the previous snapshot, so
+ * a crash mid-write leaves the old snapshot and its logs in place.
+ * <p>
+ * Layout: {@code [int magic][long generation][int count]} then {@code [int length][user]}
+ * per user, followed by a CRC32C of everything before it.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x55534E31;
+
+    private static final String FILE_NAME = "users.snapshot";
+
+    private static final String TEMP_NAME = "users.snapshot.tmp";
+
+    record Snapshot(long generation, List<User> users) {
+    }
+
+    private SnapshotFile() {
+    }
+
+    static void write(Path directory, long generation, List<User> users) {
+
+        Path temp = directory.resolve(TEMP_NAME);
+
+        try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), new CRC32C());
+            DataOutputStream out = new DataOutputStream(checked);
+
+            out.writeInt(MAGIC);
+            out.writeLong(generation);
+            out.writeInt(users.size());
+
+            for (User user : users) {
+                byte[] record = UserCodec.encode(user);
+                out.writeInt(record.length);
+                out.write(record);
+            }
+
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            file.getFD().sync();
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        try {
+            Files.move(temp, directory.resolve(FILE_NAME), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Empty when no snapshot has been taken yet; a damaged snapshot is an error, not an empty store
+    static Optional<Snapshot> read(Path directory) {
+
+        Path path = directory.resolve(FILE_NAME);
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+
+        try (InputStream file = Files.newInputStream(path)) {
+
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(file, 1 << 16), new CRC32C());
+            DataInputStream in = new DataInputStream(checked);
+
+            if (in.readInt() != MAGIC) {
+                throw new IllegalStateException("Not a user snapshot: " + path);
+            }
+
+            long generation = in.readLong();
+            int count = in.readInt();
+            List<User> users = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                byte[] record = new byte[in.readInt()];
+                in.readFully(record);
+                users.add(UserCodec.decode(ByteBuffer.wrap(record)));
+            }
+
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IllegalStateException("User snapshot is corrupt: " + path);
+            }
+
+            return Optional.of(new Snapshot(generation, users));
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.usermanagementsystem.repository.embedded;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bit per slot, set when the user in that slot has the bitmap's status. Only the
+ * store's single writer changes bits; readers see whole words through the atomic
+ * array and never lock.
+ */
+final class StatusBitmap {
+
+    private volatile AtomicLongArray words = new AtomicLongArray(16);
+
+    private volatile long cardinality;
+
+    // Writer only
+    void set(int slot) {
+        ensureCapacity(slot);
+        int word = slot >>> 6;
+        long mask = 1L << slot;
+        long current = words.get(word);
+        if ((current & mask) == 0) {
+            words.set(word, current | mask);
+            cardinality++;
+        }
+    }
+
+    // Writer only
+    void clear(int slot) {
+        AtomicLongArray current = words;
+        int word = slot >>> 6;
+        if (word >= current.length()) {
+            return;
+        }
+        long mask = 1L << slot;
+        long bits = current.get(word);
+        if ((bits & mask) != 0) {
+            current.set(word, bits & ~mask);
+            cardinality--;
+        }
+    }
+
+    boolean get(int slot) {
+        AtomicLongArray current = words;
+        int word = slot >>> 6;
+        return word < current.length() && (current.get(word) & (1L << slot)) != 0;
+    }
+
+    // Next set slot at or after from, -1 when there is none
+    int nextSetBit(int from) {
+        AtomicLongArray current = words;
+        int word = from >>> 6;
+        if (word >= current.length()) {
+            return -1;
+        }
+
+        long bits = current.get(word) & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word >= current.length()) {
+                return -1;
+            }
+            bits = current.get(word);
+        }
+    }
+
+    long cardinality() {
+        return cardinality;
+    }
+
+    private void ensureCapacity(int slot) {
+        AtomicLongArray current = words;
+        int needed = (slot >>> 6) + 1;
+        if (needed <= current.length()) {
+            return;
+        }
+
+        AtomicLongArray grown = new AtomicLongArray(Math.max(needed, current.length() * 2));
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        words = grown;
+    }
+}
@@ -0,0 +1,102 @@
+package com.usermanagementsystem.repository.embedded;
+
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Compact binary form of a user, shared by the write-ahead log and snapshots.
+ * Strings are length-prefixed UTF-8 (-1 for null), timestamps are epoch seconds
+ * plus nanos. Search tokens are not stored, the embedded engine does not use them.
+ */
+final class UserCodec {
+
+    private static final UserStatus[] STATUSES = UserStatus.values();
+
+    private UserCodec() {
+    }
+
+    static byte[] encode(User user) {
+
+        byte[] id = bytes(user.getId());
+        byte[] name = bytes(user.getName());
+        byte[] email = bytes(user.getEmail());
+
+        ByteBuffer buffer = ByteBuffer.allocate(
+                size(id) + size(name) + size(email) + 1 + 2 * 13 + 9);
+
+        putString(buffer, id);
+        putString(buffer, name);
+        putString(buffer, email);
+        buffer.put(user.getStatus() == null ? -1 : (byte) user.getStatus().ordinal());
+        putInstant(buffer, user.getCreatedAt());
+        putInstant(buffer, user.getUpdatedAt());
+
+        buffer.put(user.getVersion() == null ? (byte) 0 : (byte) 1);
+        buffer.putLong(user.getVersion() == null ? 0 : user.getVersion());
+
+        return buffer.array();
+    }
+
+    static User decode(ByteBuffer buffer) {
+
+        User.UserBuilder user = User.builder()
+                .id(getString(buffer))
+                .name(getString(buffer))
+                .email(getString(buffer));
+
+        byte status = buffer.get();
+        user.status(status < 0 ? null : STATUSES[status]);
+        user.createdAt(getInstant(buffer));
+        user.updatedAt(getInstant(buffer));
+
+        boolean hasVersion = buffer.get() != 0;
+        long version = buffer.getLong();
+        user.version(hasVersion ? version : null);
+
+        return user.build();
+    }
+
+    static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static int size(byte[] value) {
+        return 4 + (value == null ? 0 : value.length);
+    }
+
+    private static void putInstant(ByteBuffer buffer, Instant value) {
+        buffer.put(value == null ? (byte) 0 : (byte) 1);
+        buffer.putLong(value == null ? 0 : value.getEpochSecond());
+        buffer.putInt(value == null ? 0 : value.getNano());
+    }
+
+    private static Instant getInstant(ByteBuffer buffer) {
+        boolean present = buffer.get() != 0;
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return present ? Instant.ofEpochSecond(seconds, nanos) : null;
+    }
+}
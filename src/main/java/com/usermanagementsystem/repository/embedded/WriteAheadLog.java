@@ -0,0 +1,207 @@
+package com.usermanagementsystem.repository.embedded;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of user writes, one file per generation, written through a
+ * memory-mapped window that is remapped further along the file when it fills up.
+ * <p>
+ * A record is {@code [int length][int crc32c][byte type][payload]}. The unwritten
+ * tail of a mapping is zeros, so replay stops at the first zero length or at a
+ * record whose checksum does not match, which is where a crash cut the log short.
+ */
+final class WriteAheadLog implements Closeable {
+
+    static final byte PUT = 1;
+
+    static final byte DELETE = 2;
+
+    private static final int HEADER_BYTES = 8;
+
+    private static final String PREFIX = "wal-";
+
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+
+    private final int windowBytes;
+
+    private long generation;
+
+    private FileChannel channel;
+
+    private MappedByteBuffer window;
+
+    // File offset of the start of the current window
+    private long windowStart;
+
+    private boolean dirty;
+
+    WriteAheadLog(Path directory, long generation, int windowBytes) {
+        this.directory = directory;
+        this.windowBytes = windowBytes;
+        open(generation);
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    // Caller serializes appends
+    void append(byte type, byte[] payload) {
+
+        int length = 1 + payload.length;
+        int recordBytes = HEADER_BYTES + length;
+
+        if (window.remaining() < recordBytes) {
+            remap(Math.max(windowBytes, recordBytes));
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(payload);
+
+        window.putInt(length);
+        window.putInt((int) crc.getValue());
+        window.put(type);
+        window.put(payload);
+        dirty = true;
+    }
+
+    // Flushes appended records to disk, cheap when nothing was written since the last call
+    void force() {
+        if (dirty) {
+            dirty = false;
+            window.force();
+        }
+    }
+
+    // Starts the next generation; the returned one is complete and can be covered by a snapshot
+    long rotate() {
+        long completed = generation;
+        closeChannel();
+        open(completed + 1);
+        return completed;
+    }
+
+    // Removes files a snapshot now covers
+    void deleteUpTo(long coveredGeneration) {
+        for (Path file : files(directory)) {
+            if (generationOf(file) <= coveredGeneration) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closeChannel();
+    }
+
+    // Generation files in the directory, oldest first
+    static List<Path> files(Path directory) {
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries
+                    .filter(path -> path.getFileName().toString().startsWith(PREFIX)
+                            && path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparingLong(WriteAheadLog::generationOf))
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    // Feeds every intact record to the consumer, returns how many there were
+    static long replay(Path file, BiConsumer<Byte, ByteBuffer> consumer) {
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            long size = channel.size();
+            if (size == 0) {
+                return 0;
+            }
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            long records = 0;
+
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+
+                if (length <= 0 || length > buffer.remaining()) {
+                    break;
+                }
+
+                ByteBuffer record = buffer.slice(buffer.position(), length);
+                CRC32C crc = new CRC32C();
+                crc.update(record.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                byte type = record.get();
+                consumer.accept(type, record.slice());
+                buffer.position(buffer.position() + length);
+                records++;
+            }
+
+            return records;
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void open(long generation) {
+        this.generation = generation;
+        try {
+            channel = FileChannel.open(directory.resolve(PREFIX + "%020d".formatted(generation) + SUFFIX),
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            windowStart = 0;
+            window = channel.map(FileChannel.MapMode.READ_WRITE, 0, windowBytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void remap(int bytes) {
+        window.force();
+        windowStart += window.position();
+        try {
+            window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart, bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            window.force();
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.usermanagementsystem.search;
+
+import com.usermanagementsystem.model.User;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeConvertCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link UserSearchTokenCallback}: ReactiveMongoTemplate
+ * only runs reactive callbacks, so without it users inserted through the
+ * /api/reactive endpoints would be stored without search tokens.
+ */
+@Component
+public class ReactiveUserSearchTokenCallback implements ReactiveBeforeConvertCallback<User> {
+
+    @Override
+    public Publisher<User> onBeforeConvert(User user, String collection) {
+        user.setSearchTokens(SearchTokenizer.indexTokens(user.getName(), user.getEmail()));
+        return Mono.just(user);
+    }
+}
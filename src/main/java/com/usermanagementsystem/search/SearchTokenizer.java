@@ -0,0 +1,65 @@
+package com.usermanagementsystem.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds the n-gram tokens stored on each user so that substring search can be
+ * answered from a multikey index instead of an unanchored regex scan.
+ * Every 2- and 3-character window of the lowercased name and email is indexed.
+ */
+public final class SearchTokenizer {
+
+    public static final int MIN_GRAM = 2;
+
+    public static final int MAX_GRAM = 3;
+
+    private SearchTokenizer() {
+    }
+
+    public static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Tokens stored on the document, maintained on every write
+    public static List<String> indexTokens(String... values) {
+
+        Set<String> tokens = new LinkedHashSet<>();
+
+        for (String value : values) {
+            String normalized = normalize(value);
+
+            for (int gram = MIN_GRAM; gram <= MAX_GRAM; gram++) {
+                for (int i = 0; i + gram <= normalized.length(); i++) {
+                    tokens.add(normalized.substring(i, i + gram));
+                }
+            }
+        }
+
+        return new ArrayList<>(tokens);
+    }
+
+    // Tokens every matching document must contain, empty when the term is too short to use the index
+    public static List<String> queryTokens(String term) {
+
+        String normalized = normalize(term);
+
+        if (normalized.length() < MIN_GRAM) {
+            return List.of();
+        }
+
+        if (normalized.length() <= MAX_GRAM) {
+            return List.of(normalized);
+        }
+
+        Set<String> tokens = new LinkedHashSet<>();
+        for (int i = 0; i + MAX_GRAM <= normalized.length(); i++) {
+            tokens.add(normalized.substring(i, i + MAX_GRAM));
+        }
+
+        return new ArrayList<>(tokens);
+    }
+}
@@ -0,0 +1,19 @@
+package com.usermanagementsystem.search;
+
+import com.usermanagementsystem.model.User;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@link User#getSearchTokens()} in sync with name and email on every
+ * save/insert, including bulk inserts, so callers never maintain it by hand.
+ */
+@Component
+public class UserSearchTokenCallback implements BeforeConvertCallback<User> {
+
+    @Override
+    public User onBeforeConvert(User user, String collection) {
+        user.setSearchTokens(SearchTokenizer.indexTokens(user.getName(), user.getEmail()));
+        return user;
+    }
+}
@@ -0,0 +1,11 @@
+package com.usermanagementsystem.service;
+
+import com.usermanagementsystem.dto.BulkImportResponse;
+import com.usermanagementsystem.enums.DataFormat;
+
+import java.io.InputStream;
+
+public interface BulkImportService {
+
+    BulkImportResponse importUsers(InputStream input, DataFormat format);
+}
@@ -0,0 +1,11 @@
+package com.usermanagementsystem.service;
+
+import com.usermanagementsystem.dto.BulkStatusUpdateRequest;
+import com.usermanagementsystem.dto.BulkStatusUpdateResponse;
+
+public interface BulkStatusService {
+
+    BulkStatusUpdateResponse updateStatuses(BulkStatusUpdateRequest request);
+
+    BulkStatusUpdateResponse getJob(String jobId);
+}
@@ -0,0 +1,15 @@
+package com.usermanagementsystem.service;
+
+import com.usermanagementsystem.dto.QueryPlanReport;
+import com.usermanagementsystem.repository.UserFilter;
+
+import java.util.List;
+
+public interface QueryPlanService {
+
+    // Explains one representative query per filter combination the list endpoint supports
+    List<QueryPlanReport> explainQueryShapes();
+
+    // Explains the first page of the list query for the given filter
+    QueryPlanReport explain(UserFilter filter);
+}
@@ -0,0 +1,21 @@
+package com.usermanagementsystem.service;
+
+import com.usermanagementsystem.dto.CreateUserRequest;
+import com.usermanagementsystem.dto.UpdateUserStatusRequest;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserService {
+
+    Mono<UserResponse> createUser(CreateUserRequest request);
+
+    Mono<UserResponse> getUserById(String id);
+
+    Mono<UserResponse> updateUserStatus(String id, UpdateUserStatusRequest request, Long expectedVersion);
+
+    Flux<UserResponse> streamUsers(UserStatus status, String search, int limit);
+
+    Mono<Void> deleteUser(String id);
+}
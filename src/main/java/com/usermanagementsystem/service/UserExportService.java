@@ -0,0 +1,13 @@
+package com.usermanagementsystem.service;
+
+import com.usermanagementsystem.enums.DataFormat;
+import com.usermanagementsystem.enums.UserStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface UserExportService {
+
+    // Writes every matching user to out, returns the number of users written
+    long exportUsers(OutputStream out, DataFormat format, UserStatus status, int batchSize) throws IOException;
+}
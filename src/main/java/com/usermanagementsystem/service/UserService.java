@@ -1,10 +1,16 @@
 package com.usermanagementsystem.service;
 
 import com.usermanagementsystem.dto.CreateUserRequest;
+import com.usermanagementsystem.dto.CursorPageResponse;
 import com.usermanagementsystem.dto.UpdateUserStatusRequest;
+import com.usermanagementsystem.dto.UserListResponse;
 import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserField;
 import com.usermanagementsystem.enums.UserStatus;
-import org.springframework.data.domain.Page;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
 
 public interface UserService {
 
@@ -12,9 +18,28 @@ public interface UserService {
 
     UserResponse getUserById(String id);
 
-    UserResponse updateUserStatus(String id, UpdateUserStatusRequest request);
+    // Only the given fields are read and returned, null means all of them
+    UserResponse getUserById(String id, Set<UserField> fields);
+
+    // Users in the order asked for, unknown ids are left out
+    List<UserResponse> getUsersByIds(List<String> ids);
+
+    UserResponse updateUserStatus(String id, UpdateUserStatusRequest request, Long expectedVersion);
+
+    // Every filter that is set applies; createdFrom inclusive, createdTo exclusive; fields null means all.
+    // The total is only counted when includeTotal is set
+    UserListResponse getUsers(
+            int page,
+            int size,
+            UserStatus status,
+            String search,
+            Instant createdFrom,
+            Instant createdTo,
+            Set<UserField> fields,
+            boolean includeTotal
+    );
 
-    Page<UserResponse> getUsers(int page, int size, UserStatus status, String search);
+    CursorPageResponse getUsersByCursor(String cursor, int size, UserStatus status);
 
     void deleteUser(String id);
 }
\ No newline at end of file
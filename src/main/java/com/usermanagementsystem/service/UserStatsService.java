@@ -0,0 +1,12 @@
+package com.usermanagementsystem.service;
+
+import com.usermanagementsystem.dto.UserStatsResponse;
+
+public interface UserStatsService {
+
+    // Served from in-memory counters, no database round trip
+    UserStatsResponse getStats();
+
+    // Recounts from the database and corrects any drift in the counters
+    void reconcile();
+}
@@ -0,0 +1,244 @@
+package com.usermanagementsystem.serviceImpl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.usermanagementsystem.changes.UserChangedEvent;
+import com.usermanagementsystem.dto.BulkImportResponse;
+import com.usermanagementsystem.dto.CreateUserRequest;
+import com.usermanagementsystem.dto.ImportRowError;
+import com.usermanagementsystem.enums.DataFormat;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.exception.InvalidImportException;
+import com.usermanagementsystem.mapper.UserMapper;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.BulkInsertResult;
+import com.usermanagementsystem.repository.UserRepository;
+import com.usermanagementsystem.service.BulkImportService;
+import com.usermanagementsystem.util.CsvLineParser;
+import com.usermanagementsystem.util.EmailNormalizer;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Timed(value = "user.service", histogram = true)
+@Service
+public class BulkImportServiceImpl implements BulkImportService {
+
+    private final UserRepository userRepository;
+
+    private final Validator validator;
+
+    private final ObjectReader requestReader;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int batchSize;
+
+    private final int maxReportedErrors;
+
+    public BulkImportServiceImpl(
+            UserRepository userRepository,
+            Validator validator,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${user.import.batch-size:1000}") int batchSize,
+            @Value("${user.import.max-reported-errors:1000}") int maxReportedErrors) {
+
+        this.userRepository = userRepository;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(CreateUserRequest.class);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public BulkImportResponse importUsers(InputStream input, DataFormat format) {
+
+        ImportState state = new ImportState();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+
+            RowParser parser = format == DataFormat.CSV
+                    ? csvParser(reader.readLine(), state)
+                    : this::parseJson;
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                state.row++;
+
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                state.totalRows++;
+                readRow(line, parser, state);
+
+                if (state.batch.size() >= batchSize) {
+                    flush(state);
+                }
+            }
+
+            flush(state);
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return BulkImportResponse.builder()
+                .totalRows(state.totalRows)
+                .inserted(state.inserted)
+                .failed(state.failed)
+                .errors(state.errors)
+                .errorsTruncated(state.failed > state.errors.size())
+                .build();
+    }
+
+    private void readRow(String line, RowParser parser, ImportState state) {
+
+        CreateUserRequest request;
+        try {
+            request = parser.parse(line);
+        } catch (IllegalArgumentException ex) {
+            reject(state, state.row, "Malformed row");
+            return;
+        }
+
+        Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            reject(state, state.row, violations.iterator().next().getMessage());
+            return;
+        }
+
+        // Ids assigned here so inserted rows can be reported to the change feed without a read-back
+        state.batch.add(User.builder()
+                .id(new ObjectId().toHexString())
+                .name(request.getName())
+                .email(EmailNormalizer.normalize(request.getEmail()))
+                .status(UserStatus.ACTIVE)
+                .build());
+        state.batchRows.add(state.row);
+    }
+
+    // Unordered insert: one bad row never stops the rest of the batch
+    private void flush(ImportState state) {
+
+        if (state.batch.isEmpty()) {
+            return;
+        }
+
+        BulkInsertResult result = userRepository.insertUnordered(state.batch);
+
+        state.inserted += result.insertedCount();
+
+        for (Map.Entry<Integer, String> failure : result.failures().entrySet()) {
+            reject(state, state.batchRows.get(failure.getKey()), failure.getValue());
+        }
+
+        for (int i = 0; i < state.batch.size(); i++) {
+            if (!result.failures().containsKey(i)) {
+                eventPublisher.publishEvent(UserChangedEvent.created(UserMapper.toResponse(state.batch.get(i))));
+            }
+        }
+
+        state.batch.clear();
+        state.batchRows.clear();
+    }
+
+    private void reject(ImportState state, long row, String message) {
+
+        state.failed++;
+
+        if (state.errors.size() < maxReportedErrors) {
+            state.errors.add(new ImportRowError(row, message));
+        }
+    }
+
+    private CreateUserRequest parseJson(String line) {
+        try {
+            CreateUserRequest request = requestReader.readValue(line);
+
+            if (request == null) {
+                throw new IllegalArgumentException("Empty row");
+            }
+
+            return request;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    private RowParser csvParser(String header, ImportState state) {
+
+        if (header == null) {
+            throw new InvalidImportException("CSV header is missing");
+        }
+
+        state.row++;
+
+        List<String> columns = CsvLineParser.parse(header).stream()
+                .map(column -> column.toLowerCase(Locale.ROOT))
+                .toList();
+
+        int nameIndex = columns.indexOf("name");
+        int emailIndex = columns.indexOf("email");
+
+        if (nameIndex < 0 || emailIndex < 0) {
+            throw new InvalidImportException("CSV header must contain name and email columns");
+        }
+
+        return line -> {
+            List<String> fields = CsvLineParser.parse(line);
+
+            if (fields.size() != columns.size()) {
+                throw new IllegalArgumentException("Column count mismatch");
+            }
+
+            CreateUserRequest request = new CreateUserRequest();
+            request.setName(fields.get(nameIndex));
+            request.setEmail(fields.get(emailIndex));
+
+            return request;
+        };
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        CreateUserRequest parse(String line);
+    }
+
+    // Everything held per upload is bounded by batchSize and maxReportedErrors
+    private final class ImportState {
+
+        private final List<User> batch = new ArrayList<>(batchSize);
+
+        private final List<Long> batchRows = new ArrayList<>(batchSize);
+
+        private final List<ImportRowError> errors = new ArrayList<>();
+
+        private long row;
+
+        private long totalRows;
+
+        private long inserted;
+
+        private long failed;
+    }
+}
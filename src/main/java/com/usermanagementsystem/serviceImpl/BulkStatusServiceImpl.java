@@ -0,0 +1,304 @@
+package com.usermanagementsystem.serviceImpl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.usermanagementsystem.cache.UserCache;
+import com.usermanagementsystem.changes.UserChangedEvent;
+import com.usermanagementsystem.dto.BulkStatusOutcome;
+import com.usermanagementsystem.dto.BulkStatusUpdateRequest;
+import com.usermanagementsystem.dto.BulkStatusUpdateResponse;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.BulkOutcome;
+import com.usermanagementsystem.enums.JobState;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.exception.BulkJobNotFoundException;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.UserRepository;
+import com.usermanagementsystem.service.BulkStatusService;
+import com.usermanagementsystem.util.UserIdNormalizer;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Timed(value = "user.service", histogram = true)
+@Slf4j
+@Service
+public class BulkStatusServiceImpl implements BulkStatusService {
+
+    private final UserRepository userRepository;
+
+    private final UserCache userCache;
+
+    private final TaskExecutor taskExecutor;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int batchSize;
+
+    // Async jobs only; a finished job stays pollable for the retention, then ages out
+    private final Cache<String, BulkStatusJob> jobs;
+
+    private final long jobRetentionNanos;
+
+    public BulkStatusServiceImpl(
+            UserRepository userRepository,
+            UserCache userCache,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${user.bulk-status.batch-size:1000}") int batchSize,
+            @Value("${user.bulk-status.job-retention:1h}") Duration jobRetention,
+            @Value("${user.bulk-status.max-jobs:1000}") long maxJobs) {
+
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.taskExecutor = taskExecutor;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.jobRetentionNanos = jobRetention.toNanos();
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(maxJobs)
+                .expireAfter(new JobExpiry())
+                .build();
+    }
+
+    @Override
+    public BulkStatusUpdateResponse updateStatuses(BulkStatusUpdateRequest request) {
+
+        BulkStatusJob job = new BulkStatusJob(UUID.randomUUID().toString(), request.hasIds());
+
+        // A synchronous job is answered in full, there is nothing left to poll
+        if (request.isAsync()) {
+            jobs.put(job.id, job);
+            taskExecutor.execute(() -> run(job, request));
+        } else {
+            run(job, request);
+        }
+
+        return job.toResponse();
+    }
+
+    @Override
+    public BulkStatusUpdateResponse getJob(String jobId) {
+
+        BulkStatusJob job = jobs.getIfPresent(jobId);
+
+        if (job == null) {
+            throw new BulkJobNotFoundException("Bulk status job not found");
+        }
+
+        return job.toResponse();
+    }
+
+    private void run(BulkStatusJob job, BulkStatusUpdateRequest request) {
+
+        try {
+            if (request.hasIds()) {
+                updateByIds(job, request.getIds(), request.getStatus());
+            } else {
+                updateByFilter(job, request);
+            }
+            job.state = JobState.COMPLETED;
+
+        } catch (RuntimeException ex) {
+            log.error("Bulk status job {} failed", job.id, ex);
+            job.error = "Bulk status update failed";
+            job.state = JobState.FAILED;
+
+            if (!request.isAsync()) {
+                throw ex;
+            }
+        } finally {
+            job.finishedAt = Instant.now();
+
+            // Written again so the retention counts from completion
+            if (request.isAsync()) {
+                jobs.put(job.id, job);
+            }
+        }
+    }
+
+    private void updateByIds(BulkStatusJob job, List<String> ids, UserStatus status) {
+
+        // A repeated id is one user, it gets one outcome, and is matched as the stored document carries it
+        List<String> distinct = ids.stream()
+                .map(UserIdNormalizer::normalize)
+                .distinct()
+                .toList();
+
+        for (int from = 0; from < distinct.size(); from += batchSize) {
+            List<String> batch = distinct.subList(from, Math.min(from + batchSize, distinct.size()));
+
+            // One read to classify the batch, one bulk write conditioned on what was read
+            Map<String, UserStatus> current = userRepository.findStatusesByIds(batch).stream()
+                    .collect(Collectors.toMap(User::getId, User::getStatus, (a, b) -> a));
+
+            Map<String, UserStatus> toUpdate = new LinkedHashMap<>();
+
+            for (String id : batch) {
+                UserStatus existing = current.get(id);
+
+                if (!current.containsKey(id)) {
+                    job.record(id, BulkOutcome.NOT_FOUND);
+                } else if (existing == status) {
+                    job.record(id, BulkOutcome.UNCHANGED);
+                } else {
+                    toUpdate.put(id, existing);
+                }
+            }
+
+            if (toUpdate.isEmpty()) {
+                continue;
+            }
+
+            Set<String> applied = userRepository.updateStatusesFrom(toUpdate, status);
+
+            // A user changed (or removed) since the read was not touched by this job
+            toUpdate.forEach((id, previous) -> {
+                if (applied.contains(id)) {
+                    job.record(id, BulkOutcome.UPDATED);
+                    userCache.invalidate(id);
+                    publishStatusChange(id, previous, status);
+                } else {
+                    job.record(id, BulkOutcome.UNCHANGED);
+                }
+            });
+        }
+    }
+
+    private void updateByFilter(BulkStatusJob job, BulkStatusUpdateRequest request) {
+
+        String afterId = null;
+        List<User> batch;
+
+        do {
+            batch = userRepository.findStatusChangeCandidates(
+                    request.getCurrentStatus(),
+                    request.getCreatedBefore(),
+                    request.getSearch(),
+                    request.getStatus(),
+                    afterId,
+                    batchSize
+            );
+
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Map<String, UserStatus> seen = new LinkedHashMap<>();
+            batch.forEach(user -> seen.put(user.getId(), user.getStatus()));
+
+            Set<String> applied = userRepository.updateStatusesFrom(seen, request.getStatus());
+
+            job.processed.addAndGet(seen.size());
+            job.updated.addAndGet(applied.size());
+            job.unchanged.addAndGet(seen.size() - applied.size());
+            applied.forEach(userCache::invalidate);
+            applied.forEach(id -> publishStatusChange(id, seen.get(id), request.getStatus()));
+
+            afterId = batch.get(batch.size() - 1).getId();
+
+        } while (batch.size() == batchSize);
+    }
+
+    // Bulk changes carry only id and status; consumers needing the full document fetch it
+    private void publishStatusChange(String id, UserStatus previousStatus, UserStatus status) {
+        eventPublisher.publishEvent(UserChangedEvent.statusChanged(
+                UserResponse.builder().id(id).status(status).build(), previousStatus));
+    }
+
+    // A running job never expires, a finished one after the retention
+    private final class JobExpiry implements Expiry<String, BulkStatusJob> {
+
+        @Override
+        public long expireAfterCreate(String jobId, BulkStatusJob job, long currentTime) {
+            return job.finishedAt == null ? Long.MAX_VALUE : jobRetentionNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String jobId, BulkStatusJob job, long currentTime, long currentDuration) {
+            return expireAfterCreate(jobId, job, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String jobId, BulkStatusJob job, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    // Progress is written by one worker and read by pollers
+    private static final class BulkStatusJob {
+
+        private final String id;
+
+        private final boolean trackOutcomes;
+
+        private final Instant startedAt = Instant.now();
+
+        private final AtomicLong processed = new AtomicLong();
+
+        private final AtomicLong updated = new AtomicLong();
+
+        private final AtomicLong unchanged = new AtomicLong();
+
+        private final AtomicLong notFound = new AtomicLong();
+
+        private final ConcurrentLinkedQueue<BulkStatusOutcome> outcomes = new ConcurrentLinkedQueue<>();
+
+        private volatile JobState state = JobState.RUNNING;
+
+        private volatile String error;
+
+        private volatile Instant finishedAt;
+
+        private BulkStatusJob(String id, boolean trackOutcomes) {
+            this.id = id;
+            this.trackOutcomes = trackOutcomes;
+        }
+
+        private void record(String userId, BulkOutcome outcome) {
+
+            processed.incrementAndGet();
+
+            switch (outcome) {
+                case UPDATED -> updated.incrementAndGet();
+                case UNCHANGED -> unchanged.incrementAndGet();
+                case NOT_FOUND -> notFound.incrementAndGet();
+            }
+
+            if (trackOutcomes) {
+                outcomes.add(new BulkStatusOutcome(userId, outcome));
+            }
+        }
+
+        private BulkStatusUpdateResponse toResponse() {
+            return BulkStatusUpdateResponse.builder()
+                    .jobId(id)
+                    .state(state)
+                    .processed(processed.get())
+                    .updated(updated.get())
+                    .unchanged(unchanged.get())
+                    .notFound(notFound.get())
+                    .outcomes(trackOutcomes ? List.copyOf(outcomes) : null)
+                    .error(error)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.usermanagementsystem.serviceImpl;
+
+import com.usermanagementsystem.dto.QueryPlanReport;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.repository.UserFilter;
+import com.usermanagementsystem.repository.UserRepository;
+import com.usermanagementsystem.service.QueryPlanService;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class QueryPlanServiceImpl implements QueryPlanService {
+
+    // What GET /api/users reads for a default first page: size 10 plus the look-ahead row
+    private static final int FIRST_PAGE_LIMIT = 11;
+
+    private static final Instant RANGE_FROM = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static final Instant RANGE_TO = Instant.parse("2025-01-01T00:00:00Z");
+
+    // Values only need to be plausible, the plan depends on which filters are present
+    private static final Map<String, UserFilter> QUERY_SHAPES = new LinkedHashMap<>();
+
+    static {
+        QUERY_SHAPES.put("all", new UserFilter(null, null, null, null));
+        QUERY_SHAPES.put("status", new UserFilter(UserStatus.ACTIVE, null, null, null));
+        QUERY_SHAPES.put("createdRange", new UserFilter(null, null, RANGE_FROM, RANGE_TO));
+        QUERY_SHAPES.put("status+createdRange", new UserFilter(UserStatus.ACTIVE, null, RANGE_FROM, RANGE_TO));
+        QUERY_SHAPES.put("search", new UserFilter(null, "sample", null, null));
+        QUERY_SHAPES.put("status+search", new UserFilter(UserStatus.ACTIVE, "sample", null, null));
+        QUERY_SHAPES.put("status+search+createdRange", new UserFilter(UserStatus.ACTIVE, "sample", RANGE_FROM, RANGE_TO));
+    }
+
+    private final UserRepository userRepository;
+
+    @Override
+    public List<QueryPlanReport> explainQueryShapes() {
+
+        List<QueryPlanReport> reports = new ArrayList<>();
+
+        QUERY_SHAPES.forEach((shape, filter) -> reports.add(analyze(shape, filter)));
+
+        return reports;
+    }
+
+    @Override
+    public QueryPlanReport explain(UserFilter filter) {
+        return analyze("custom", filter);
+    }
+
+    private QueryPlanReport analyze(String shape, UserFilter filter) {
+
+        Document explain = userRepository.explainFindResponses(filter, 0, FIRST_PAGE_LIMIT, null);
+        Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+
+        List<String> stages = new ArrayList<>();
+        Set<String> indexes = new LinkedHashSet<>();
+        collectStages(winningPlan, stages, indexes);
+
+        boolean collectionScan = stages.contains("COLLSCAN");
+        boolean inMemorySort = stages.contains("SORT");
+
+        // The planner may intersect tokens and sort the small candidate set, which is acceptable for search
+        boolean indexed = !collectionScan && (!inMemorySort || filter.hasSearch());
+
+        return QueryPlanReport.builder()
+                .shape(shape)
+                .stages(stages)
+                .indexes(List.copyOf(indexes))
+                .collectionScan(collectionScan)
+                .inMemorySort(inMemorySort)
+                .indexed(indexed)
+                .winningPlan(winningPlan)
+                .build();
+    }
+
+    // Classic and slot-based plans nest stages differently, so walk every nested document
+    private static void collectStages(Object node, List<String> stages, Set<String> indexes) {
+
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+
+            if (document.get("indexName") instanceof String indexName) {
+                indexes.add(indexName);
+            }
+
+            document.values().forEach(value -> collectStages(value, stages, indexes));
+
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages, indexes));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.usermanagementsystem.serviceImpl;
+
+import com.usermanagementsystem.cache.UserCache;
+import com.usermanagementsystem.changes.UserChangedEvent;
+import com.usermanagementsystem.dto.CreateUserRequest;
+import com.usermanagementsystem.dto.UpdateUserStatusRequest;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.exception.DuplicateUserException;
+import com.usermanagementsystem.exception.PreconditionFailedException;
+import com.usermanagementsystem.exception.UserNotFoundException;
+import com.usermanagementsystem.mapper.UserMapper;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.ReactiveUserRepository;
+import com.usermanagementsystem.repository.StatusChange;
+import com.usermanagementsystem.service.ReactiveUserService;
+import com.usermanagementsystem.util.EmailNormalizer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link UserServiceImpl} with the same rules and the
+ * same exceptions, so GlobalExceptionHandler maps both stacks identically.
+ */
+@Service
+@Profile("!embedded")
+@RequiredArgsConstructor
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    private final ReactiveUserRepository reactiveUserRepository;
+
+    // Shared with the blocking stack, writes here must not leave stale entries there
+    private final UserCache userCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Mono<UserResponse> createUser(CreateUserRequest request) {
+
+        User user = User.builder()
+                .name(request.getName())
+                .email(EmailNormalizer.normalize(request.getEmail()))
+                .status(UserStatus.ACTIVE) // default status
+                .build();
+
+        return reactiveUserRepository.insert(user)
+                .onErrorMap(DuplicateKeyException.class,
+                        ex -> new DuplicateUserException("User with this email already exists"))
+                .map(UserMapper::toResponse)
+                .doOnNext(response -> eventPublisher.publishEvent(UserChangedEvent.created(response)));
+    }
+
+    @Override
+    public Mono<UserResponse> getUserById(String id) {
+        return reactiveUserRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found")))
+                .map(UserMapper::toResponse);
+    }
+
+    @Override
+    public Mono<UserResponse> updateUserStatus(String id, UpdateUserStatusRequest request, Long expectedVersion) {
+        return reactiveUserRepository.updateStatus(id, request.getStatus(), expectedVersion)
+                .switchIfEmpty(Mono.defer(() -> updateFailure(id, expectedVersion)))
+                .map(change -> {
+                    userCache.invalidate(id);
+
+                    UserResponse response = UserMapper.toResponse(change.user());
+                    eventPublisher.publishEvent(UserChangedEvent.statusChanged(response, change.previousStatus()));
+
+                    return response;
+                });
+    }
+
+    @Override
+    public Flux<UserResponse> streamUsers(UserStatus status, String search, int limit) {
+        return reactiveUserRepository.streamUsers(status, search, limit)
+                .map(UserMapper::toResponse);
+    }
+
+    @Override
+    public Mono<Void> deleteUser(String id) {
+        return reactiveUserRepository.removeById(id)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found")))
+                .doOnNext(removed -> {
+                    userCache.invalidate(id);
+                    eventPublisher.publishEvent(UserChangedEvent.deleted(id, removed.getStatus()));
+                })
+                .then();
+    }
+
+    // Only on the failure path: tell a stale version apart from a missing user
+    private Mono<StatusChange> updateFailure(String id, Long expectedVersion) {
+
+        if (expectedVersion == null) {
+            return Mono.error(new UserNotFoundException("User not found"));
+        }
+
+        return reactiveUserRepository.existsById(id)
+                .flatMap(exists -> Mono.<StatusChange>error(exists
+                        ? new PreconditionFailedException("User has been modified")
+                        : new UserNotFoundException("User not found")));
+    }
+}
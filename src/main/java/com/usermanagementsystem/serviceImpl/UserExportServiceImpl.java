@@ -0,0 +1,148 @@
+package com.usermanagementsystem.serviceImpl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.usermanagementsystem.enums.DataFormat;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.UserRepository;
+import com.usermanagementsystem.service.UserExportService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams users from a Mongo cursor straight to the response. Each document is
+ * written as soon as it is read, so memory does not grow with the collection.
+ */
+@Timed(value = "user.service", histogram = true)
+@Service
+@RequiredArgsConstructor
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final UserRepository userRepository;
+
+    @Override
+    public long exportUsers(OutputStream out, DataFormat format, UserStatus status, int batchSize) throws IOException {
+
+        // The caller owns out (it may still have to finish a gzip trailer), so flush but never close it
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        try (Stream<User> users = userRepository.streamForExport(status, batchSize)) {
+
+            long count = format == DataFormat.CSV
+                    ? writeCsv(users.iterator(), writer)
+                    : writeNdjson(users.iterator(), writer);
+
+            writer.flush();
+
+            return count;
+        }
+    }
+
+    private long writeNdjson(Iterator<User> users, Writer writer) throws IOException {
+
+        long count = 0;
+
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(writer)) {
+            while (users.hasNext()) {
+                User user = users.next();
+
+                // Missing fields are left out, as UserResponseSerializer does for the API
+                json.writeStartObject();
+                writeStringField(json, "id", user.getId());
+                writeStringField(json, "name", user.getName());
+                writeStringField(json, "email", user.getEmail());
+                writeStringField(json, "status", user.getStatus() == null ? null : user.getStatus().name());
+                writeStringField(json, "createdAt", toText(user.getCreatedAt()));
+                writeStringField(json, "updatedAt", toText(user.getUpdatedAt()));
+                if (user.getVersion() != null) {
+                    json.writeNumberField("version", user.getVersion());
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private long writeCsv(Iterator<User> users, Writer writer) throws IOException {
+
+        writer.write("id,name,email,status,createdAt,updatedAt,version\n");
+
+        long count = 0;
+
+        while (users.hasNext()) {
+            User user = users.next();
+
+            writer.write(user.getId());
+            writer.write(',');
+            writeCsvField(writer, user.getName());
+            writer.write(',');
+            writeCsvField(writer, user.getEmail());
+            writer.write(',');
+            writer.write(user.getStatus() == null ? "" : user.getStatus().name());
+            writer.write(',');
+            writer.write(nullToEmpty(toText(user.getCreatedAt())));
+            writer.write(',');
+            writer.write(nullToEmpty(toText(user.getUpdatedAt())));
+            writer.write(',');
+            writer.write(user.getVersion() == null ? "" : user.getVersion().toString());
+            writer.write('\n');
+
+            count++;
+        }
+
+        return count;
+    }
+
+    // RFC 4180 quoting, mirrors what CsvLineParser accepts on import
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+
+        if (value == null) {
+            return;
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static void writeStringField(JsonGenerator json, String name, String value) throws IOException {
+        if (value != null) {
+            json.writeStringField(name, value);
+        }
+    }
+
+    private static String toText(Instant instant) {
+        return instant == null ? null : instant.toString();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
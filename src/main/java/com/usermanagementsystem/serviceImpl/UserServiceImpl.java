@@ -1,113 +1,248 @@
 package com.usermanagementsystem.serviceImpl;
 
+import com.usermanagementsystem.cache.UserCache;
+import com.usermanagementsystem.changes.UserChangedEvent;
 import com.usermanagementsystem.dto.CreateUserRequest;
+import com.usermanagementsystem.dto.CursorPageResponse;
 import com.usermanagementsystem.dto.UpdateUserStatusRequest;
+import com.usermanagementsystem.dto.UserListResponse;
 import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserField;
 import com.usermanagementsystem.enums.UserStatus;
 import com.usermanagementsystem.exception.DuplicateUserException;
+import com.usermanagementsystem.exception.InvalidIdsException;
+import com.usermanagementsystem.exception.PreconditionFailedException;
 import com.usermanagementsystem.exception.UserNotFoundException;
+import com.usermanagementsystem.mapper.UserMapper;
 import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.StatusChange;
+import com.usermanagementsystem.repository.UserFilter;
+import com.usermanagementsystem.repository.UserLookupBatcher;
 import com.usermanagementsystem.repository.UserRepository;
 import com.usermanagementsystem.service.UserService;
+import com.usermanagementsystem.util.CursorCodec;
+import com.usermanagementsystem.util.EmailNormalizer;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@Timed(value = "user.service", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    static final int MAX_BATCH_IDS = 100;
+
+    // id as tie-breaker keeps pages stable and matches the {createdAt, _id} index order
+    static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     private final UserRepository userRepository;
 
+    private final UserCache userCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final UserLookupBatcher userLookupBatcher;
+
     @Override
     public UserResponse createUser(CreateUserRequest request) {
 
-        // Check duplicate email
-        userRepository.findByEmail(request.getEmail())
-                .ifPresent(user -> {
-                    throw new DuplicateUserException("User with this email already exists");
-                });
-
         User user = User.builder()
                 .name(request.getName())
-                .email(request.getEmail())
+                .email(EmailNormalizer.normalize(request.getEmail()))
                 .status(UserStatus.ACTIVE) // default status
                 .build();
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+
+        // Insert first, the unique email index rejects duplicates in the same round trip
+        try {
+            savedUser = userRepository.insert(user);
+        } catch (DuplicateKeyException ex) {
+            throw new DuplicateUserException("User with this email already exists");
+        }
+
+        UserResponse response = mapToResponse(savedUser);
+        eventPublisher.publishEvent(UserChangedEvent.created(response));
 
-        return mapToResponse(savedUser);
+        return response;
     }
 
     @Override
     public UserResponse getUserById(String id) {
+        return userCache.get(id, this::loadUser);
+    }
+
+    @Override
+    public UserResponse getUserById(String id, Set<UserField> fields) {
+
+        if (fields == null) {
+            return getUserById(id);
+        }
+
+        // A cached full copy beats any query; on a miss read only what was asked for, without caching it
+        UserResponse cached = userCache.getIfPresent(id);
 
-        User user = userRepository.findById(id)
+        if (cached != null) {
+            return UserMapper.select(cached, fields);
+        }
+
+        User user = userRepository.findProjectedById(id, fields)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
-        return mapToResponse(user);
+        return UserMapper.toResponse(user, fields);
     }
 
     @Override
-    public UserResponse updateUserStatus(String id, UpdateUserStatusRequest request) {
+    public List<UserResponse> getUsersByIds(List<String> ids) {
 
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        Set<String> distinct = new LinkedHashSet<>(ids);
+
+        if (distinct.size() > MAX_BATCH_IDS) {
+            throw new InvalidIdsException("At most " + MAX_BATCH_IDS + " ids per request");
+        }
 
-        user.setStatus(request.getStatus());
+        // Cached users are served as they are, the misses share one $in with any concurrent lookups
+        Map<String, UserResponse> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+
+        for (String id : distinct) {
+            UserResponse cached = userCache.getIfPresent(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
 
-        User updatedUser = userRepository.save(user);
+        if (!misses.isEmpty()) {
+            userLookupBatcher.findAllById(misses).forEach((id, user) -> found.put(id, mapToResponse(user)));
+        }
 
-        return mapToResponse(updatedUser);
+        return distinct.stream().map(found::get).filter(Objects::nonNull).toList();
     }
 
     @Override
-    public Page<UserResponse> getUsers(int page, int size, UserStatus status, String search) {
+    public UserResponse updateUserStatus(String id, UpdateUserStatusRequest request, Long expectedVersion) {
+
+        // One findAndModify: no read-modify-write window, no full-document rewrite
+        StatusChange change = userRepository.updateStatus(id, request.getStatus(), expectedVersion)
+                .orElseThrow(() -> updateFailure(id, expectedVersion));
 
-        Pageable pageable = PageRequest.of(
-                page,
-                size,
-                Sort.by(Sort.Direction.DESC, "createdAt")
+        userCache.invalidate(id);
+
+        UserResponse response = mapToResponse(change.user());
+        eventPublisher.publishEvent(UserChangedEvent.statusChanged(response, change.previousStatus()));
+
+        return response;
+    }
+
+    @Override
+    public UserListResponse getUsers(
+            int page,
+            int size,
+            UserStatus status,
+            String search,
+            Instant createdFrom,
+            Instant createdTo,
+            Set<UserField> fields,
+            boolean includeTotal) {
+
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+
+        UserFilter filter = new UserFilter(status, search, createdFrom, createdTo);
+
+        // One extra row tells whether another page exists, no count() needed
+        List<UserResponse> users = userRepository.findResponses(filter, pageable.getOffset(), size + 1, fields);
+
+        boolean hasNext = users.size() > size;
+
+        return UserListResponse.builder()
+                .items(hasNext ? users.subList(0, size) : users)
+                .page(page)
+                .size(size)
+                .hasNext(hasNext)
+                .total(includeTotal ? userRepository.countUsers(filter) : null)
+                .build();
+    }
+
+    @Override
+    public CursorPageResponse getUsersByCursor(String cursor, int size, UserStatus status) {
+
+        CursorCodec.Cursor position = CursorCodec.decode(cursor);
+        size = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+
+        // Fetch one extra row to know whether another page exists, no count() needed
+        List<User> users = userRepository.findPageAfter(
+                position == null ? null : position.createdAt(),
+                position == null ? null : position.id(),
+                status,
+                size + 1
         );
 
-        Page<User> userPage;
-
-        if (search != null && !search.isBlank()) {
-            userPage = userRepository
-                    .findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
-                            search,
-                            search,
-                            pageable
-                    );
-        } else if (status != null) {
-            userPage = userRepository.findByStatus(status, pageable);
-        } else {
-            userPage = userRepository.findAll(pageable);
+        boolean hasNext = users.size() > size;
+        List<User> pageUsers = hasNext ? users.subList(0, size) : users;
+
+        String nextCursor = null;
+        if (hasNext) {
+            User last = pageUsers.get(pageUsers.size() - 1);
+            nextCursor = CursorCodec.encode(last.getCreatedAt(), last.getId());
         }
 
-        return userPage.map(this::mapToResponse);
+        return CursorPageResponse.builder()
+                .content(pageUsers.stream().map(this::mapToResponse).toList())
+                .size(pageUsers.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    private UserResponse mapToResponse(User user) {
-        return UserResponse.builder()
-                .id(user.getId())
-                .name(user.getName())
-                .email(user.getEmail())
-                .status(user.getStatus())
-                .createdAt(user.getCreatedAt())
-                .updatedAt(user.getUpdatedAt())
-                .build();
+    // Only on the failure path: tell a stale version apart from a missing user
+    private RuntimeException updateFailure(String id, Long expectedVersion) {
+
+        if (expectedVersion != null && userRepository.existsById(id)) {
+            return new PreconditionFailedException("User has been modified");
+        }
+
+        return new UserNotFoundException("User not found");
+    }
+
+    private UserResponse loadUser(String id) {
+
+        // Concurrent misses on different ids share a single $in query
+        User user = userLookupBatcher.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+
+        return mapToResponse(user);
+    }
+
+    UserResponse mapToResponse(User user) {
+        return UserMapper.toResponse(user);
     }
 
     @Override
     public void deleteUser(String id) {
 
-        User user = userRepository.findById(id)
+        User removed = userRepository.removeById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
-        userRepository.delete(user);
+        userCache.invalidate(id);
+        eventPublisher.publishEvent(UserChangedEvent.deleted(id, removed.getStatus()));
     }
 }
\ No newline at end of file
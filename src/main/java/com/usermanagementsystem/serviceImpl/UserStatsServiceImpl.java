@@ -0,0 +1,178 @@
+package com.usermanagementsystem.serviceImpl;
+
+import com.usermanagementsystem.changes.UserChangedEvent;
+import com.usermanagementsystem.dto.UserStatsResponse;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.repository.UserRepository;
+import com.usermanagementsystem.service.UserStatsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps user counts in memory, updated from the change events of this instance's
+ * writes and periodically reconciled against an aggregation, which also picks up
+ * writes made by other instances or directly in the database.
+ */
+@Slf4j
+@Service
+public class UserStatsServiceImpl implements UserStatsService {
+
+    private final UserRepository userRepository;
+
+    private final Clock clock;
+
+    private final int signupDays;
+
+    // Filled for every status up front, so the map itself is never modified
+    private final Map<UserStatus, LongAdder> statusCounts = new EnumMap<>(UserStatus.class);
+
+    private final ConcurrentMap<LocalDate, LongAdder> dailySignups = new ConcurrentHashMap<>();
+
+    private volatile Instant reconciledAt;
+
+    @Autowired
+    public UserStatsServiceImpl(
+            UserRepository userRepository,
+            @Value("${user.stats.signup-days:30}") int signupDays) {
+        this(userRepository, Clock.systemUTC(), signupDays);
+    }
+
+    UserStatsServiceImpl(UserRepository userRepository, Clock clock, int signupDays) {
+
+        this.userRepository = userRepository;
+        this.clock = clock;
+        this.signupDays = signupDays;
+
+        for (UserStatus status : UserStatus.values()) {
+            statusCounts.put(status, new LongAdder());
+        }
+    }
+
+    @Override
+    public UserStatsResponse getStats() {
+
+        Map<UserStatus, Long> byStatus = new EnumMap<>(UserStatus.class);
+        long total = 0;
+
+        for (Map.Entry<UserStatus, LongAdder> entry : statusCounts.entrySet()) {
+            long count = entry.getValue().sum();
+            byStatus.put(entry.getKey(), count);
+            total += count;
+        }
+
+        Map<LocalDate, Long> signups = new LinkedHashMap<>();
+        LocalDate today = today();
+
+        for (LocalDate day = firstDay(); !day.isAfter(today); day = day.plusDays(1)) {
+            LongAdder count = dailySignups.get(day);
+            signups.put(day, count == null ? 0 : count.sum());
+        }
+
+        return UserStatsResponse.builder()
+                .total(total)
+                .byStatus(byStatus)
+                .dailySignups(signups)
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+
+        switch (event.type()) {
+            case CREATED -> {
+                add(event.user().getStatus(), 1);
+                recordSignup(event.user().getCreatedAt());
+            }
+            case STATUS_CHANGED -> {
+                if (event.previousStatus() != event.user().getStatus()) {
+                    add(event.previousStatus(), -1);
+                    add(event.user().getStatus(), 1);
+                }
+            }
+            // Signups count users that still exist; reconciliation drops deleted ones from the histogram
+            case DELETED -> add(event.previousStatus(), -1);
+        }
+    }
+
+    // First run at startup seeds the counters
+    @Override
+    @Scheduled(initialDelay = 0, fixedDelayString = "${user.stats.reconcile-interval:5m}")
+    public void reconcile() {
+
+        try {
+            LocalDate firstDay = firstDay();
+
+            // Snapshot first: events arriving while the aggregation runs are kept as a delta
+            Map<UserStatus, Long> countedBefore = new EnumMap<>(UserStatus.class);
+            statusCounts.forEach((status, count) -> countedBefore.put(status, count.sum()));
+
+            Map<LocalDate, Long> signupsBefore = new HashMap<>();
+            dailySignups.forEach((day, count) -> signupsBefore.put(day, count.sum()));
+
+            Map<UserStatus, Long> actual = userRepository.countByStatus();
+            Map<LocalDate, Long> actualSignups = userRepository.countSignupsPerDay(
+                    firstDay.atStartOfDay(ZoneOffset.UTC).toInstant());
+
+            statusCounts.forEach((status, count) ->
+                    count.add(actual.getOrDefault(status, 0L) - countedBefore.get(status)));
+
+            Set<LocalDate> days = new HashSet<>(signupsBefore.keySet());
+            days.addAll(actualSignups.keySet());
+
+            for (LocalDate day : days) {
+                dailySignups.computeIfAbsent(day, key -> new LongAdder())
+                        .add(actualSignups.getOrDefault(day, 0L) - signupsBefore.getOrDefault(day, 0L));
+            }
+
+            dailySignups.keySet().removeIf(day -> day.isBefore(firstDay));
+
+            reconciledAt = clock.instant();
+
+        } catch (RuntimeException ex) {
+            // Counters keep serving the last known values until the next attempt
+            log.warn("User stats reconciliation failed", ex);
+        }
+    }
+
+    private void add(UserStatus status, long delta) {
+        if (status != null) {
+            statusCounts.get(status).add(delta);
+        }
+    }
+
+    private void recordSignup(Instant createdAt) {
+
+        LocalDate day = LocalDate.ofInstant(createdAt == null ? clock.instant() : createdAt, ZoneOffset.UTC);
+
+        if (!day.isBefore(firstDay())) {
+            dailySignups.computeIfAbsent(day, key -> new LongAdder()).increment();
+        }
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    private LocalDate firstDay() {
+        return today().minusDays(signupDays - 1L);
+    }
+}
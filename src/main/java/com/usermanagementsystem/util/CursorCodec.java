@@ -0,0 +1,59 @@
+package com.usermanagementsystem.util;
+
+import com.usermanagementsystem.exception.InvalidCursorException;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque continuation token used by keyset pagination.
+ * The token carries the (createdAt, id) of the last user on the previous page.
+ */
+public final class CursorCodec {
+
+    private static final char SEPARATOR = ':';
+
+    private CursorCodec() {
+    }
+
+    public record Cursor(Instant createdAt, String id) {
+    }
+
+    public static String encode(Instant createdAt, String id) {
+        String millis = createdAt == null ? "" : Long.toString(createdAt.toEpochMilli());
+        String raw = millis + SEPARATOR + id;
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for an empty token, meaning "start from the first page"
+    public static Cursor decode(String token) {
+
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+
+            String millis = raw.substring(0, separator);
+            String id = raw.substring(separator + 1);
+
+            if (!ObjectId.isValid(id)) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+
+            Instant createdAt = millis.isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(millis));
+
+            return new Cursor(createdAt, id);
+
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.usermanagementsystem.util;
+
+import com.usermanagementsystem.dto.UserListResponse;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.exception.PreconditionFailedException;
+
+/**
+ * Entity tags derived from the optimistic-locking version of a user. Every write bumps
+ * the version, so it identifies a representation without hashing the body.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + (version == null ? 0L : version) + "\"";
+    }
+
+    public static String weak(Long version) {
+        return "W/" + of(version);
+    }
+
+    // FNV-1a over page position, hasNext, total and each (id, version), cheap next to serializing the page
+    public static String ofPage(UserListResponse page) {
+
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, page.getPage());
+        hash = mix(hash, page.getSize());
+        hash = mix(hash, page.isHasNext() ? 1 : 0);
+        hash = mix(hash, page.getTotal() == null ? -1 : page.getTotal());
+
+        for (UserResponse user : page.getItems()) {
+            String id = user.getId() == null ? "" : user.getId();
+            for (int i = 0; i < id.length(); i++) {
+                hash = mix(hash, id.charAt(i));
+            }
+            hash = mix(hash, user.getVersion() == null ? 0L : user.getVersion());
+        }
+
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * 0x100000001b3L;
+    }
+
+    // Returns null when there is no precondition (header absent or "*")
+    public static Long parseVersion(String ifMatch) {
+
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+
+        // Weak tags never satisfy If-Match
+        if (tag.startsWith("W/") || tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("Invalid If-Match header");
+        }
+
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("Invalid If-Match header");
+        }
+    }
+}
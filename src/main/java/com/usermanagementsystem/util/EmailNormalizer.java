@@ -0,0 +1,16 @@
+package com.usermanagementsystem.util;
+
+import java.util.Locale;
+
+/**
+ * Canonical form of an email address as stored in the unique email index.
+ */
+public final class EmailNormalizer {
+
+    private EmailNormalizer() {
+    }
+
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
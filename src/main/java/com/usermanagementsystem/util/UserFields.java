@@ -0,0 +1,51 @@
+package com.usermanagementsystem.util;
+
+import com.usermanagementsystem.enums.UserField;
+import com.usermanagementsystem.exception.InvalidFieldsException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Parses the comma-separated fields= parameter of the user endpoints.
+ */
+public final class UserFields {
+
+    private static final Map<String, UserField> BY_PROPERTY = Arrays.stream(UserField.values())
+            .collect(Collectors.toUnmodifiableMap(UserField::getProperty, Function.identity()));
+
+    private UserFields() {
+    }
+
+    // null when the parameter is absent or blank, meaning every field
+    public static Set<UserField> parse(String fields) {
+
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        Set<UserField> selected = EnumSet.noneOf(UserField.class);
+
+        for (String name : fields.split(",")) {
+            String property = name.trim();
+
+            if (property.isEmpty()) {
+                continue;
+            }
+
+            UserField field = BY_PROPERTY.get(property);
+
+            if (field == null) {
+                throw new InvalidFieldsException("Unknown field: " + property);
+            }
+
+            selected.add(field);
+        }
+
+        return selected.isEmpty() ? null : selected;
+    }
+}
@@ -0,0 +1,17 @@
+package com.usermanagementsystem.util;
+
+import org.bson.types.ObjectId;
+
+/**
+ * Canonical form of a user id as stored documents carry it: Mongo matches an
+ * ObjectId whatever its hex case, and always returns it as lowercase hex.
+ */
+public final class UserIdNormalizer {
+
+    private UserIdNormalizer() {
+    }
+
+    public static String normalize(String id) {
+        return id != null && ObjectId.isValid(id) ? new ObjectId(id).toHexString() : id;
+    }
+}
@@ -0,0 +1,133 @@
+package com.usermanagementsystem.cache;
+
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.exception.UserNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheTest {
+
+    private static UserResponse user(String id, String email) {
+        return UserResponse.builder().id(id).name("Sai").email(email).build();
+    }
+
+    @Test
+    void shouldRecordHitsAndMisses() {
+
+        UserCache cache = new UserCache(100, Duration.ofMinutes(1), true);
+
+        cache.get("1", id -> user(id, "sai@gmail.com"));
+        cache.get("1", id -> user(id, "sai@gmail.com"));
+
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void shouldDropEntryOnInvalidate() {
+
+        UserCache cache = new UserCache(100, Duration.ofMinutes(1), false);
+
+        cache.get("1", id -> user(id, "sai@gmail.com"));
+        cache.invalidate("1");
+
+        assertNull(cache.getIfPresent("1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldNotCacheWhatWasLoadedBeforeAnInvalidation() {
+
+        UserCache cache = new UserCache(100, Duration.ofMinutes(1), false);
+
+        // A status update lands and invalidates while the load is still reading the old document
+        UserResponse loaded = cache.get("1", id -> {
+            UserResponse before = user(id, "sai@gmail.com");
+            cache.invalidate(id);
+            return before;
+        });
+
+        assertEquals("1", loaded.getId());
+        assertNull(cache.getIfPresent("1"));
+    }
+
+    @Test
+    void shouldShareOneEntryWhateverTheHexCase() {
+
+        UserCache cache = new UserCache(100, Duration.ofMinutes(1), true);
+
+        cache.get("665F1C2AB3E4D5F6A7B8C9D0", id -> user(id, "sai@gmail.com"));
+
+        assertNotNull(cache.getIfPresent("665f1c2ab3e4d5f6a7b8c9d0"));
+
+        cache.invalidate("665f1c2ab3e4d5f6a7b8c9d0");
+
+        assertNull(cache.getIfPresent("665F1C2AB3E4D5F6A7B8C9D0"));
+    }
+
+    @Test
+    void shouldNotCacheFailedLoads() {
+
+        UserCache cache = new UserCache(100, Duration.ofMinutes(1), true);
+
+        assertThrows(UserNotFoundException.class, () -> cache.get("1", id -> {
+            throw new UserNotFoundException("User not found");
+        }));
+
+        assertEquals("1", cache.get("1", id -> user(id, "sai@gmail.com")).getId());
+    }
+
+    @Test
+    void shouldLoadColdKeyOnceUnderConcurrentMisses() throws Exception {
+
+        UserCache cache = new UserCache(100, Duration.ofMinutes(1), true);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        try {
+            List<Future<UserResponse>> results = new ArrayList<>();
+
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("hot", id -> {
+                        loads.incrementAndGet();
+                        sleep();
+                        return user(id, "hot@gmail.com");
+                    });
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<UserResponse> result : results) {
+                assertEquals("hot", result.get(5, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().loadCount());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
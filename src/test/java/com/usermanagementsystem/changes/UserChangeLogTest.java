@@ -0,0 +1,149 @@
+package com.usermanagementsystem.changes;
+
+import com.usermanagementsystem.dto.ChangeFeedResponse;
+import com.usermanagementsystem.dto.UserChangeResponse;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.ChangeType;
+import com.usermanagementsystem.exception.ChangeFeedExpiredException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserChangeLogTest {
+
+    private static void appendCreated(UserChangeLog log, String... ids) {
+        for (String id : ids) {
+            log.append(ChangeType.CREATED, id, UserResponse.builder().id(id).build());
+        }
+    }
+
+    private static void appendExternal(UserChangeLog log, String token, String id) {
+        log.append(UserChangeResponse.builder()
+                .token(token)
+                .type(ChangeType.CREATED)
+                .userId(id)
+                .user(UserResponse.builder().id(id).build())
+                .build());
+    }
+
+    private static List<String> userIds(ChangeFeedResponse page) {
+        return page.getChanges().stream().map(UserChangeResponse::getUserId).toList();
+    }
+
+    @Test
+    void shouldResumeFromToken() {
+
+        UserChangeLog log = new UserChangeLog(10);
+        appendCreated(log, "1", "2", "3");
+
+        ChangeFeedResponse first = log.since(null, 2);
+
+        assertEquals(List.of("1", "2"), first.getChanges().stream().map(UserChangeResponse::getUserId).toList());
+        assertTrue(first.isHasMore());
+
+        ChangeFeedResponse second = log.since(first.getNextToken(), 2);
+
+        assertEquals(List.of("3"), second.getChanges().stream().map(UserChangeResponse::getUserId).toList());
+        assertFalse(second.isHasMore());
+
+        ChangeFeedResponse empty = log.since(second.getNextToken(), 2);
+
+        assertTrue(empty.getChanges().isEmpty());
+        assertEquals(second.getNextToken(), empty.getNextToken());
+    }
+
+    @Test
+    void shouldRejectTokenThatFellOutOfTheRing() {
+
+        UserChangeLog log = new UserChangeLog(2);
+        String start = log.currentToken();
+        appendCreated(log, "1", "2", "3");
+
+        assertThrows(ChangeFeedExpiredException.class, () -> log.since(start, 10));
+        assertEquals(List.of("2", "3"),
+                log.since(null, 10).getChanges().stream().map(UserChangeResponse::getUserId).toList());
+    }
+
+    @Test
+    void shouldRejectTokenFromAnotherLog() {
+
+        UserChangeLog log = new UserChangeLog(10);
+
+        assertThrows(ChangeFeedExpiredException.class, () -> log.since("other.1", 10));
+        assertThrows(ChangeFeedExpiredException.class, () -> log.since("garbage", 10));
+    }
+
+    @Test
+    void shouldServeExternalTokensFromTheRing() {
+
+        UserChangeLog log = new UserChangeLog(10);
+        log.useHistory((token, limit) -> fail("history read for a retained token"));
+        log.markPosition("A0");
+        appendExternal(log, "A1", "1");
+        appendExternal(log, "A2", "2");
+
+        assertEquals(List.of("1", "2"), userIds(log.since("A0", 10)));
+
+        ChangeFeedResponse page = log.since("A1", 10);
+
+        assertEquals(List.of("2"), userIds(page));
+        assertEquals("A2", page.getNextToken());
+        assertEquals("A2", log.currentToken());
+    }
+
+    @Test
+    void shouldReadUnknownAndEvictedTokensFromHistory() {
+
+        UserChangeLog log = new UserChangeLog(2);
+        List<String> historyReads = new ArrayList<>();
+        ChangeFeedResponse fromHistory = ChangeFeedResponse.builder().changes(List.of()).nextToken("B9").build();
+        log.useHistory((token, limit) -> {
+            historyReads.add(token);
+            return fromHistory;
+        });
+
+        appendExternal(log, "B1", "1");
+        appendExternal(log, "B2", "2");
+        appendExternal(log, "B3", "3");
+
+        // B1 was overwritten, B0 was handed out before this log existed
+        assertSame(fromHistory, log.since("B1", 10));
+        assertSame(fromHistory, log.since("B0", 10));
+        assertEquals(List.of("B1", "B0"), historyReads);
+
+        assertEquals(List.of("3"), userIds(log.since("B2", 10)));
+    }
+
+    @Test
+    void shouldStartFromTheMarkedHeadWhenIdle() {
+
+        UserChangeLog log = new UserChangeLog(10);
+        log.useHistory((token, limit) -> fail("history read for the head token"));
+        appendExternal(log, "C1", "1");
+        log.markPosition("C5");
+
+        assertEquals("C5", log.currentToken());
+        assertTrue(log.since("C5", 10).getChanges().isEmpty());
+
+        appendExternal(log, "C6", "6");
+
+        assertEquals(List.of("6"), userIds(log.since("C5", 10)));
+    }
+
+    @Test
+    void shouldNotifySubscribersInOrderUntilUnsubscribed() {
+
+        UserChangeLog log = new UserChangeLog(10);
+        List<String> received = new ArrayList<>();
+
+        Runnable unsubscribe = log.subscribe(change -> received.add(change.getUserId()));
+        appendCreated(log, "1", "2");
+        unsubscribe.run();
+        appendCreated(log, "3");
+
+        assertEquals(List.of("1", "2"), received);
+    }
+}
@@ -0,0 +1,36 @@
+package com.usermanagementsystem.config;
+
+import com.usermanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CreatedAtBackfillRunnerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CreatedAtBackfillRunner runner;
+
+    @Test
+    void shouldRunBatchesUntilNothingIsLeft() throws Exception {
+
+        ReflectionTestUtils.setField(runner, "batchSize", 500);
+        ReflectionTestUtils.setField(runner, "pause", Duration.ZERO);
+
+        when(userRepository.backfillCreatedAt(500)).thenReturn(500, 500, 120, 0);
+
+        runner.run(null);
+
+        verify(userRepository, times(4)).backfillCreatedAt(500);
+    }
+}
@@ -0,0 +1,53 @@
+package com.usermanagementsystem.config;
+
+import com.usermanagementsystem.repository.UserIndexMigration;
+import com.usermanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndexMigrationRunnerTest {
+
+    @Mock
+    private UserIndexMigration userIndexMigration;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private IndexMigrationRunner runner;
+
+    @Test
+    void shouldBackfillSearchTokensAfterMigrating() {
+
+        ReflectionTestUtils.setField(runner, "enabled", true);
+        ReflectionTestUtils.setField(runner, "backfillBatchSize", 500);
+
+        when(userRepository.backfillSearchTokens(500)).thenReturn(500, 120, 0);
+
+        runner.run(null);
+
+        InOrder order = inOrder(userIndexMigration, userRepository);
+        order.verify(userIndexMigration).migrate();
+        order.verify(userRepository, times(3)).backfillSearchTokens(500);
+    }
+
+    @Test
+    void shouldOnlyVerifyWhenMigrationIsDisabled() {
+
+        ReflectionTestUtils.setField(runner, "verifyOnStartup", true);
+
+        runner.run(null);
+
+        verify(userIndexMigration).verifyRequired();
+        verify(userIndexMigration, never()).migrate();
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,62 @@
+package com.usermanagementsystem.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.usermanagementsystem.exception.GlobalExceptionHandler;
+import com.usermanagementsystem.service.ReactiveUserService;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Flux;
+
+@WebMvcTest(ReactiveUserController.class)
+class ReactiveUserControllerTest {
+
+    @Configuration
+    @Import({ReactiveUserController.class, GlobalExceptionHandler.class})
+    static class TestConfig {}
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReactiveUserService reactiveUserService;
+
+    @Test
+    @DisplayName("GET /api/reactive/users - Bounded by default")
+    void streamUsers_defaultLimit() throws Exception {
+        when(reactiveUserService.streamUsers(null, null, 10)).thenReturn(Flux.empty());
+
+        mockMvc.perform(get("/api/reactive/users").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk());
+
+        verify(reactiveUserService).streamUsers(null, null, 10);
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/users - Limit out of range")
+    void streamUsers_invalidLimit() throws Exception {
+        for (String limit : List.of("0", "-1", "1001")) {
+            mockMvc.perform(get("/api/reactive/users").param("limit", limit).accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("limit must be between 1 and 1000"));
+        }
+
+        verify(reactiveUserService, never()).streamUsers(any(), any(), anyInt());
+    }
+}
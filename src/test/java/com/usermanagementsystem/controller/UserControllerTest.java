@@ -1,16 +1,30 @@
 package com.usermanagementsystem.controller;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.usermanagementsystem.dto.CursorPageResponse;
+import com.usermanagementsystem.dto.UserListResponse;
 import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserField;
 import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.dto.BulkImportResponse;
+import com.usermanagementsystem.enums.DataFormat;
+import com.usermanagementsystem.exception.GlobalExceptionHandler;
+import com.usermanagementsystem.service.BulkImportService;
+import com.usermanagementsystem.service.UserExportService;
 import com.usermanagementsystem.service.UserService;
 import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -20,7 +34,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -30,7 +43,7 @@ class UserControllerTest {
 
 
     @Configuration
-    @Import(UserController.class)
+    @Import({UserController.class, GlobalExceptionHandler.class})
     static class TestConfig {}
 
     @Autowired
@@ -39,6 +52,12 @@ class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private BulkImportService bulkImportService;
+
+    @MockitoBean
+    private UserExportService userExportService;
+
     private UserResponse commonResponse;
 
     @BeforeEach
@@ -53,6 +72,10 @@ class UserControllerTest {
                 .build();
     }
 
+    private static UserListResponse page(UserResponse... users) {
+        return UserListResponse.builder().items(List.of(users)).page(0).size(10).build();
+    }
+
     @Test
     @DisplayName("POST /api/users - Success")
     void createUser_ok() throws Exception {
@@ -81,13 +104,78 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.email").value("sai@test.com"));
     }
 
+    @Test
+    @DisplayName("GET /api/users/{id}?fields= - Sparse fieldset")
+    void getUserById_sparseFields() throws Exception {
+        when(userService.getUserById("test-id-123", EnumSet.of(UserField.ID, UserField.NAME,
+                UserField.VERSION, UserField.CREATED_AT, UserField.UPDATED_AT)))
+                .thenReturn(UserResponse.builder().id("test-id-123").name("Sai").version(2L).build());
+
+        mockMvc.perform(get("/api/users/test-id-123").param("fields", "id, name"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"2\""))
+                .andExpect(jsonPath("$.name").value("Sai"))
+                .andExpect(jsonPath("$.email").doesNotExist())
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{id} - ETag and Last-Modified")
+    void getUserById_validators() throws Exception {
+        commonResponse.setVersion(3L);
+        commonResponse.setUpdatedAt(Instant.parse("2026-03-01T10:00:00Z"));
+        when(userService.getUserById("test-id-123")).thenReturn(commonResponse);
+
+        mockMvc.perform(get("/api/users/test-id-123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("Last-Modified", "Sun, 01 Mar 2026 10:00:00 GMT"));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{id} - If-None-Match answered from validators only")
+    void getUserById_notModified() throws Exception {
+        when(userService.getUserById("test-id-123",
+                EnumSet.of(UserField.ID, UserField.VERSION, UserField.UPDATED_AT, UserField.CREATED_AT)))
+                .thenReturn(UserResponse.builder().id("test-id-123").version(3L).build());
+
+        mockMvc.perform(get("/api/users/test-id-123").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(userService, never()).getUserById("test-id-123");
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{id} - Stale If-None-Match returns the user")
+    void getUserById_modified() throws Exception {
+        commonResponse.setVersion(4L);
+        when(userService.getUserById(eq("test-id-123"), any()))
+                .thenReturn(UserResponse.builder().id("test-id-123").version(4L).build());
+        when(userService.getUserById("test-id-123")).thenReturn(commonResponse);
+
+        mockMvc.perform(get("/api/users/test-id-123").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.email").value("sai@test.com"));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{id}?fields= - Unknown field")
+    void getUserById_unknownField() throws Exception {
+        mockMvc.perform(get("/api/users/test-id-123").param("fields", "id,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown field: password"));
+    }
+
     @Test
     @DisplayName("PATCH /api/users/{id}/status - Success")
     void updateUserStatus_ok() throws Exception {
 
         commonResponse.setStatus(UserStatus.INACTIVE);
 
-        when(userService.updateUserStatus(any(), any()))
+        when(userService.updateUserStatus(any(), any(), any()))
                 .thenReturn(commonResponse);
 
         mockMvc.perform(patch("/api/users/test-id-123/status")
@@ -101,19 +189,160 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.status").value("INACTIVE"));
     }
 
+    @Test
+    @DisplayName("PATCH /api/users/{id}/status - If-Match passes version and returns ETag")
+    void updateUserStatus_ifMatch() throws Exception {
+
+        commonResponse.setVersion(4L);
+
+        when(userService.updateUserStatus(eq("test-id-123"), any(), eq(3L)))
+                .thenReturn(commonResponse);
+
+        mockMvc.perform(patch("/api/users/test-id-123/status")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                    {
+                      "status":"INACTIVE"
+                    }
+                    """))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
     @Test
     @DisplayName("GET /api/users - Paginated Success")
     void getUsers_ok() throws Exception {
-        PageImpl<UserResponse> pageResponse = new PageImpl<>(List.of(commonResponse));
-
-        when(userService.getUsers(anyInt(), anyInt(), any(), any()))
-                .thenReturn(pageResponse);
+        when(userService.getUsers(anyInt(), anyInt(), any(), any(), any(), any(), any(), anyBoolean()))
+                .thenReturn(page(commonResponse));
 
         mockMvc.perform(get("/api/users")
                         .param("page", "0")
                         .param("size", "10"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content[0].name").value("Sai"));
+                .andExpect(jsonPath("$.items[0].name").value("Sai"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.total").doesNotExist())
+                .andExpect(jsonPath("$.pageable").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/users?total=true - Total only when asked for")
+    void getUsers_withTotal() throws Exception {
+        UserListResponse counted = page(commonResponse);
+        counted.setTotal(25L);
+
+        when(userService.getUsers(0, 10, null, null, null, null, null, true)).thenReturn(counted);
+
+        mockMvc.perform(get("/api/users").param("total", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(25))
+                .andExpect(jsonPath("$.items[0].id").value("test-id-123"));
+    }
+
+    @Test
+    @DisplayName("GET /api/users - Weak ETag and 304 for an unchanged page")
+    void getUsers_notModified() throws Exception {
+        commonResponse.setVersion(1L);
+        when(userService.getUsers(anyInt(), anyInt(), any(), any(), any(), any(), any(), anyBoolean()))
+                .thenReturn(page(commonResponse));
+
+        String eTag = mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertTrue(eTag.startsWith("W/"));
+
+        mockMvc.perform(get("/api/users").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        commonResponse.setVersion(2L);
+
+        mockMvc.perform(get("/api/users").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/users?ids= - Batch lookup")
+    void getUsersByIds_ok() throws Exception {
+        when(userService.getUsersByIds(List.of("test-id-123", "other")))
+                .thenReturn(List.of(commonResponse));
+
+        mockMvc.perform(get("/api/users").param("ids", "test-id-123,other"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value("test-id-123"));
+    }
+
+    @Test
+    @DisplayName("GET /api/users - Combined filters")
+    void getUsers_withFilters() throws Exception {
+        when(userService.getUsers(0, 10, UserStatus.ACTIVE, "sai",
+                Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-02-01T00:00:00Z"), null, false))
+                .thenReturn(page(commonResponse));
+
+        mockMvc.perform(get("/api/users")
+                        .param("status", "ACTIVE")
+                        .param("search", "sai")
+                        .param("createdFrom", "2026-01-01T00:00:00Z")
+                        .param("createdTo", "2026-02-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Sai"));
+    }
+
+    @Test
+    @DisplayName("GET /api/users?cursor= - Keyset page")
+    void getUsersByCursor_ok() throws Exception {
+        CursorPageResponse cursorPage = CursorPageResponse.builder()
+                .content(List.of(commonResponse))
+                .size(1)
+                .hasNext(true)
+                .nextCursor("next-token")
+                .build();
+
+        when(userService.getUsersByCursor(eq(""), anyInt(), any()))
+                .thenReturn(cursorPage);
+
+        mockMvc.perform(get("/api/users")
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Sai"))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
+    @Test
+    @DisplayName("POST /api/users/bulk - NDJSON import")
+    void importUsersNdjson_ok() throws Exception {
+        BulkImportResponse importResponse = BulkImportResponse.builder()
+                .totalRows(2)
+                .inserted(2)
+                .errors(List.of())
+                .build();
+
+        when(bulkImportService.importUsers(any(), eq(DataFormat.NDJSON)))
+                .thenReturn(importResponse);
+
+        mockMvc.perform(post("/api/users/bulk")
+                        .contentType("application/x-ndjson")
+                        .content("""
+                        {"name":"Sai","email":"sai@test.com"}
+                        {"name":"Kiran","email":"kiran@test.com"}
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/export - batchSize out of range is rejected")
+    void exportUsers_invalidBatchSize() throws Exception {
+        for (String batchSize : List.of("-1", "0", "10001")) {
+            mockMvc.perform(get("/api/users/export").param("batchSize", batchSize))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("batchSize must be between 1 and 10000"));
+        }
+
+        verify(userExportService, never()).exportUsers(any(), any(), any(), anyInt());
     }
 
     @Test
@@ -0,0 +1,52 @@
+package com.usermanagementsystem.dto;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.usermanagementsystem.enums.UserStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserResponseSerializerTest {
+
+    // Falls back to the bean serializer the hand-written one replaces
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface BeanSerialized {
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ObjectMapper beanMapper = objectMapper.copy().addMixIn(UserResponse.class, BeanSerialized.class);
+
+    @Test
+    void shouldWriteSameJsonAsBeanSerializer() throws Exception {
+
+        UserResponse user = UserResponse.builder()
+                .id("65f000000000000000000001")
+                .name("Sai \"K\"")
+                .email("sai@test.com")
+                .status(UserStatus.BLOCKED)
+                .createdAt(Instant.parse("2026-01-01T10:15:30.123456Z"))
+                .updatedAt(Instant.parse("2026-01-02T00:00:00Z"))
+                .version(3L)
+                .build();
+
+        assertEquals(beanMapper.writeValueAsString(user), objectMapper.writeValueAsString(user));
+    }
+
+    @Test
+    void shouldLeaveOutUnselectedFields() throws Exception {
+
+        UserResponse sparse = UserResponse.builder().id("65f000000000000000000001").name("Sai").build();
+
+        assertEquals("{\"id\":\"65f000000000000000000001\",\"name\":\"Sai\"}", objectMapper.writeValueAsString(sparse));
+        assertEquals(beanMapper.writeValueAsString(sparse), objectMapper.writeValueAsString(sparse));
+    }
+}
@@ -0,0 +1,135 @@
+package com.usermanagementsystem.ratelimit;
+
+import com.usermanagementsystem.enums.EndpointClass;
+import com.usermanagementsystem.exception.RateLimitExceededException;
+import com.usermanagementsystem.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    private AdmissionControlInterceptor interceptor;
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        concurrencyLimiter = new ConcurrencyLimiter(2);
+        interceptor = new AdmissionControlInterceptor(Map.of(
+                EndpointClass.SEARCH, new ClientRateLimiter(1, 1, 100, Duration.ofMinutes(1)),
+                EndpointClass.READ, new ClientRateLimiter(1000, 1000, 100, Duration.ofMinutes(1)),
+                EndpointClass.LIST, new ClientRateLimiter(1000, 1000, 100, Duration.ofMinutes(1)),
+                EndpointClass.WRITE, new ClientRateLimiter(1000, 1000, 100, Duration.ofMinutes(1))),
+                concurrencyLimiter, "X-Api-Key", Set.of("a", "b"), meterRegistry);
+    }
+
+    private static MockHttpServletRequest request(String method, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/users");
+        request.addHeader("X-Api-Key", client);
+        return request;
+    }
+
+    @Test
+    void shouldClassifyRequests() {
+
+        MockHttpServletRequest search = request("GET", "a");
+        search.setParameter("search", "sai");
+
+        MockHttpServletRequest pointRead = request("GET", "a");
+        pointRead.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/{id}");
+
+        assertEquals(EndpointClass.SEARCH, AdmissionControlInterceptor.classify(search));
+        assertEquals(EndpointClass.READ, AdmissionControlInterceptor.classify(pointRead));
+        assertEquals(EndpointClass.LIST, AdmissionControlInterceptor.classify(request("GET", "a")));
+        assertEquals(EndpointClass.WRITE, AdmissionControlInterceptor.classify(request("PATCH", "a")));
+    }
+
+    @Test
+    void shouldRateLimitSearchPerClient() {
+
+        MockHttpServletRequest first = request("GET", "a");
+        first.setParameter("search", "sai");
+        assertTrue(interceptor.preHandle(first, response, null));
+        interceptor.afterCompletion(first, response, null, null);
+
+        MockHttpServletRequest second = request("GET", "a");
+        second.setParameter("search", "sai");
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> interceptor.preHandle(second, response, null));
+        assertTrue(ex.getRetryAfter().toMillis() > 0);
+
+        // Other clients and other classes keep their own budget
+        MockHttpServletRequest otherClient = request("GET", "b");
+        otherClient.setParameter("search", "sai");
+        assertTrue(interceptor.preHandle(otherClient, response, null));
+        assertTrue(interceptor.preHandle(request("GET", "a"), response, null));
+
+        assertEquals(1.0, meterRegistry.get("user.admission.rejected")
+                .tag("class", "search").tag("reason", "rate_limited").counter().count());
+    }
+
+    @Test
+    void shouldLimitUnknownKeysByRemoteAddress() {
+
+        MockHttpServletRequest first = request("GET", "made-up-1");
+        first.setParameter("search", "sai");
+        assertTrue(interceptor.preHandle(first, response, null));
+        interceptor.afterCompletion(first, response, null, null);
+
+        // Same address, different made-up key: still the same client
+        MockHttpServletRequest second = request("GET", "made-up-2");
+        second.setParameter("search", "sai");
+        assertThrows(RateLimitExceededException.class, () -> interceptor.preHandle(second, response, null));
+    }
+
+    @Test
+    void shouldShedWhenInFlightLimitReached() {
+
+        MockHttpServletRequest first = request("GET", "a");
+        MockHttpServletRequest second = request("GET", "a");
+        interceptor.preHandle(first, response, null);
+        interceptor.preHandle(second, response, null);
+
+        assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(request("GET", "a"), response, null));
+        assertEquals(1.0, meterRegistry.get("user.admission.rejected")
+                .tag("class", "list").tag("reason", "overloaded").counter().count());
+
+        interceptor.afterCompletion(first, response, null, null);
+
+        assertEquals(1, concurrencyLimiter.inFlight());
+        assertTrue(interceptor.preHandle(request("GET", "a"), response, null));
+    }
+
+    @Test
+    void shouldHoldSlotAcrossAsyncDispatch() {
+
+        MockHttpServletRequest request = request("GET", "a");
+        interceptor.preHandle(request, response, null);
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertEquals(1, concurrencyLimiter.inFlight());
+
+        interceptor.afterCompletion(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(0, concurrencyLimiter.inFlight());
+    }
+}
@@ -0,0 +1,103 @@
+package com.usermanagementsystem.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private ClientRateLimiter limiter(double rate, int burst) {
+        return new ClientRateLimiter(rate, burst, 1000, Duration.ofMinutes(1), clock::get);
+    }
+
+    @Test
+    void shouldAdmitBurstThenReject() {
+
+        ClientRateLimiter limiter = limiter(10, 3);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+
+        // One permit every 100ms
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.tryAcquire("a"));
+    }
+
+    @Test
+    void shouldRefillAtConfiguredRate() {
+
+        ClientRateLimiter limiter = limiter(10, 1);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void shouldKeepClientsIndependent() {
+
+        ClientRateLimiter limiter = limiter(1, 1);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+
+        assertEquals(0, limiter.tryAcquire("b"));
+        assertEquals(2, limiter.trackedClients());
+    }
+
+    @Test
+    void shouldNotOverAdmitUnderContention() throws Exception {
+
+        // Clock stands still, so exactly the burst may get through
+        ClientRateLimiter limiter = limiter(1, 100);
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1000; i++) {
+                    if (limiter.tryAcquire("a") == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(100, admitted.get());
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> limiter(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> limiter(1, 0));
+    }
+}
@@ -0,0 +1,73 @@
+package com.usermanagementsystem.repository;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.search.ReactiveUserSearchTokenCallback;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mapping.callback.ReactiveEntityCallbacks;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Against an in-process mongod, wired like the application: only a real insert shows which callbacks run
+class ReactiveUserSearchTest {
+
+    private static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+
+    private static MongoClient client;
+
+    private static ReactiveUserRepository repository;
+
+    @BeforeAll
+    static void startMongo() {
+
+        mongod = Mongod.instance().start(Version.Main.V7_0);
+        ServerAddress address = mongod.current().getServerAddress();
+
+        client = MongoClients.create("mongodb://" + address.getHost() + ":" + address.getPort());
+
+        ReactiveMongoTemplate template = new ReactiveMongoTemplate(client, "usermanagement_test");
+        template.setEntityCallbacks(ReactiveEntityCallbacks.create(new ReactiveUserSearchTokenCallback()));
+
+        repository = new ReactiveMongoRepositoryFactory(template).getRepository(
+                ReactiveUserRepository.class,
+                RepositoryFragments.just(new ReactiveUserRepositoryCustomImpl(template))
+        );
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        client.close();
+        mongod.close();
+    }
+
+    @Test
+    void shouldFindReactivelyInsertedUserBySearch() {
+
+        User user = User.builder()
+                .name("Sai Kumar")
+                .email("sai@gmail.com")
+                .status(UserStatus.ACTIVE)
+                .build();
+
+        StepVerifier.create(repository.insert(user).thenMany(repository.streamUsers(null, "kuma", 10)))
+                .assertNext(found -> {
+                    assertEquals("sai@gmail.com", found.getEmail());
+                    // Found through the tokens, not only the fallback for users written before them
+                    assertTrue(found.getSearchTokens().contains("kum"));
+                })
+                .verifyComplete();
+    }
+}
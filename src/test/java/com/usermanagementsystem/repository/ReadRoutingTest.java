@@ -0,0 +1,57 @@
+package com.usermanagementsystem.repository;
+
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadRoutingTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldSendStaleTolerantReadsToSecondariesWithinMaxStaleness() {
+
+        ReadRouting routing = new ReadRouting(true, "secondaryPreferred", Duration.ofSeconds(120), meterRegistry);
+
+        Query query = routing.staleTolerant(new Query(), "search");
+
+        ReadPreference expected = ReadPreference.secondaryPreferred(120, TimeUnit.SECONDS);
+        assertEquals(expected, query.getReadPreference());
+    }
+
+    @Test
+    void shouldCountRoutedReadsPerOperation() {
+
+        ReadRouting routing = new ReadRouting(true, "secondaryPreferred", Duration.ofSeconds(90), meterRegistry);
+
+        routing.staleTolerant(new Query(), "list");
+        routing.staleTolerant(new Query(), "list");
+        routing.staleTolerant(new Query(), "search");
+
+        assertEquals(2.0, meterRegistry.get("user.reads.routed")
+                .tags("operation", "list", "preference", "secondaryPreferred").counter().count());
+        assertEquals(1.0, meterRegistry.get("user.reads.routed")
+                .tags("operation", "search").counter().count());
+    }
+
+    @Test
+    void shouldKeepEverythingOnPrimaryWhenDisabled() {
+
+        ReadRouting routing = ReadRouting.primaryOnly(meterRegistry);
+
+        assertEquals(ReadPreference.primary(), routing.staleTolerant(new Query(), "list").getReadPreference());
+    }
+
+    @Test
+    void shouldRejectMaxStalenessBelowDriverMinimum() {
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReadRouting(true, "secondaryPreferred", Duration.ofSeconds(30), meterRegistry));
+    }
+}
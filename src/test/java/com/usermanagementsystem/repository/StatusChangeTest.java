@@ -0,0 +1,77 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatusChangeTest {
+
+    // Sub-millisecond on purpose: the clock has it, a BSON date does not
+    private static final Instant NOW = Instant.parse("2024-05-01T10:15:30.123456789Z");
+
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+    }
+
+    // The pre-image with the status update applied, written and read back the way Mongo would return it
+    private User reread(User before, Update update) {
+
+        Document stored = new Document();
+        converter.write(before, stored);
+
+        Document set = update.getUpdateObject().get("$set", Document.class);
+        set.forEach((field, value) -> stored.put(field, converter.convertToMongoType(value)));
+
+        Document inc = update.getUpdateObject().get("$inc", Document.class);
+        inc.forEach((field, delta) -> stored.put(field,
+                (stored.get(field) == null ? 0L : ((Number) stored.get(field)).longValue()) + ((Number) delta).longValue()));
+
+        return converter.read(User.class, stored);
+    }
+
+    @Test
+    void shouldRebuildWhatARereadReturns() {
+
+        User before = User.builder()
+                .id("665f1c2ab3e4d5f6a7b8c9d0")
+                .name("Sai")
+                .email("sai@gmail.com")
+                .status(UserStatus.ACTIVE)
+                .searchTokens(List.of("sa", "sai"))
+                .createdAt(Instant.parse("2024-01-01T00:00:00.001Z"))
+                .updatedAt(Instant.parse("2024-02-01T00:00:00.002Z"))
+                .version(3L)
+                .build();
+
+        StatusChange change = StatusChange.fromPreImage(before, UserStatus.BLOCKED, NOW);
+
+        assertEquals(UserStatus.ACTIVE, change.previousStatus());
+        assertEquals(reread(before, UserCriteria.statusChange(UserStatus.BLOCKED, NOW)), change.user());
+    }
+
+    @Test
+    void shouldStartVersionFromZeroWhenMissing() {
+
+        User before = User.builder().id("1").status(UserStatus.ACTIVE).build();
+
+        StatusChange change = StatusChange.fromPreImage(before, UserStatus.INACTIVE, NOW);
+
+        assertEquals(1L, change.user().getVersion());
+        assertEquals(reread(before, UserCriteria.statusChange(UserStatus.INACTIVE, NOW)), change.user());
+    }
+}
@@ -0,0 +1,123 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class UserIndexMigrationTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    private final IndexOperations indexOps = mock(IndexOperations.class);
+
+    private UserIndexMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getConverter())
+                .thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+        when(mongoTemplate.indexOps(User.class)).thenReturn(indexOps);
+        when(indexOps.ensureIndex(any()))
+                .thenAnswer(invocation -> invocation.<IndexDefinition>getArgument(0).getIndexOptions().getString("name"));
+
+        migration = new UserIndexMigration(mongoTemplate);
+    }
+
+    @Test
+    void shouldCreateOnlyMissingIndexes() {
+
+        List<IndexInfo> existing = List.of(index("_id_"), index("createdAt_id_idx"));
+        when(indexOps.getIndexInfo()).thenReturn(existing);
+
+        List<String> created = migration.migrate();
+
+        assertFalse(created.contains("createdAt_id_idx"));
+        assertTrue(created.contains("status_createdAt_id_idx"));
+        assertTrue(created.contains("searchTokens_createdAt_id_idx"));
+        verify(indexOps, never()).ensureIndex(argThat(index ->
+                "createdAt_id_idx".equals(index.getIndexOptions().getString("name"))));
+    }
+
+    @Test
+    void shouldCreateNothingWhenAllIndexesExist() {
+
+        List<IndexInfo> existing = new ArrayList<>(List.of(index("_id_")));
+        when(indexOps.getIndexInfo()).thenReturn(List.of());
+        migration.migrate().forEach(name -> existing.add(index(name)));
+
+        clearInvocations(indexOps);
+        when(indexOps.getIndexInfo()).thenReturn(existing);
+
+        assertTrue(migration.migrate().isEmpty());
+        verify(indexOps, never()).ensureIndex(any());
+        verify(indexOps, never()).dropIndex(any());
+    }
+
+    @Test
+    void shouldDropRetiredTokenIndexAfterCreatingItsReplacement() {
+
+        List<IndexInfo> existing = List.of(index("_id_"), index("searchTokens_1"));
+        when(indexOps.getIndexInfo()).thenReturn(existing);
+
+        migration.migrate();
+
+        var order = inOrder(indexOps);
+        order.verify(indexOps).ensureIndex(argThat(index ->
+                "searchTokens_createdAt_id_idx".equals(index.getIndexOptions().getString("name"))));
+        order.verify(indexOps).dropIndex("searchTokens_1");
+    }
+
+    @Test
+    void shouldPassVerificationWhenUniqueEmailIndexExists() {
+
+        IndexInfo email = emailIndex(true);
+        List<IndexInfo> existing = List.of(index("_id_"), email);
+        when(indexOps.getIndexInfo()).thenReturn(existing);
+
+        assertDoesNotThrow(() -> migration.verifyRequired());
+        verify(indexOps, never()).ensureIndex(any());
+    }
+
+    @Test
+    void shouldFailVerificationWhenEmailIndexIsMissingOrNotUnique() {
+
+        List<IndexInfo> missing = List.of(index("_id_"));
+        when(indexOps.getIndexInfo()).thenReturn(missing);
+        assertThrows(IllegalStateException.class, () -> migration.verifyRequired());
+
+        IndexInfo email = emailIndex(false);
+        List<IndexInfo> notUnique = List.of(index("_id_"), email);
+        when(indexOps.getIndexInfo()).thenReturn(notUnique);
+        assertThrows(IllegalStateException.class, () -> migration.verifyRequired());
+    }
+
+    private static IndexInfo emailIndex(boolean unique) {
+        IndexInfo info = index("email");
+        when(info.isUnique()).thenReturn(unique);
+        when(info.getIndexFields()).thenReturn(List.of(IndexField.create("email", Sort.Direction.ASC)));
+        return info;
+    }
+
+    private static IndexInfo index(String name) {
+        IndexInfo info = mock(IndexInfo.class);
+        when(info.getName()).thenReturn(name);
+        return info;
+    }
+}
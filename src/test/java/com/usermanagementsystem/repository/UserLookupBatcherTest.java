@@ -0,0 +1,171 @@
+package com.usermanagementsystem.repository;
+
+import com.usermanagementsystem.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+class UserLookupBatcherTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Answers an $in with a user for every id except "missing"
+    private void stubFindAll() {
+        when(userRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<User> users = new ArrayList<>();
+            for (String id : invocation.<Iterable<String>>getArgument(0)) {
+                if (!id.equals("missing")) {
+                    users.add(User.builder().id(id).name("user " + id).build());
+                }
+            }
+            return users;
+        });
+    }
+
+    private UserLookupBatcher batcher(Duration window, int maxBatchSize) {
+        return new UserLookupBatcher(userRepository, true, window, maxBatchSize, meterRegistry);
+    }
+
+    // Runs every id on its own thread, all released at once
+    private List<Optional<User>> lookUpConcurrently(UserLookupBatcher batcher, List<String> ids) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(ids.size());
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<Optional<User>>> futures = new ArrayList<>();
+        for (String id : ids) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return batcher.findById(id);
+            }));
+        }
+
+        start.countDown();
+
+        List<Optional<User>> results = new ArrayList<>();
+        for (Future<Optional<User>> future : futures) {
+            results.add(future.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        return results;
+    }
+
+    @Test
+    void shouldCollapseConcurrentLookupsIntoOneQuery() throws Exception {
+
+        stubFindAll();
+
+        // Window far longer than the test, the batch is sent because it fills up
+        UserLookupBatcher batcher = batcher(Duration.ofSeconds(30), 8);
+        List<String> ids = List.of("1", "2", "3", "4", "5", "6", "7", "8");
+
+        List<Optional<User>> results = lookUpConcurrently(batcher, ids);
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(ids.get(i), results.get(i).orElseThrow().getId());
+        }
+        verify(userRepository, times(1)).findAllById(anyIterable());
+        verify(userRepository, never()).findById(any());
+        assertEquals(1, meterRegistry.get("user.lookup.batch.size").summary().count());
+    }
+
+    @Test
+    void shouldQueryDuplicateIdOnce() throws Exception {
+
+        stubFindAll();
+
+        UserLookupBatcher batcher = batcher(Duration.ofMillis(500), 100);
+
+        List<Optional<User>> results = lookUpConcurrently(batcher, List.of("1", "1", "1", "1"));
+
+        results.forEach(result -> assertEquals("1", result.orElseThrow().getId()));
+        verify(userRepository).findAllById(argThat((Collection<String> ids) -> ids.size() == 1));
+    }
+
+    @Test
+    void shouldReturnEmptyForUnknownId() {
+
+        stubFindAll();
+
+        UserLookupBatcher batcher = batcher(Duration.ZERO, 100);
+
+        assertTrue(batcher.findById("missing").isEmpty());
+        assertEquals(List.of("1"), List.copyOf(batcher.findAllById(List.of("1", "missing")).keySet()));
+    }
+
+    @Test
+    void shouldMatchObjectIdsWhateverTheHexCase() {
+
+        // Mongo matches an ObjectId whatever the case it was written in and returns it as lowercase hex
+        when(userRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<User> users = new ArrayList<>();
+            for (String id : invocation.<Iterable<String>>getArgument(0)) {
+                users.add(User.builder().id(new ObjectId(id).toHexString()).build());
+            }
+            return users;
+        });
+
+        String upper = new ObjectId().toHexString().toUpperCase();
+
+        UserLookupBatcher batcher = batcher(Duration.ZERO, 100);
+
+        assertEquals(upper.toLowerCase(), batcher.findById(upper).orElseThrow().getId());
+        assertEquals(List.of(upper), List.copyOf(batcher.findAllById(List.of(upper)).keySet()));
+
+        UserLookupBatcher unbatched = new UserLookupBatcher(userRepository, false, Duration.ZERO, 100, meterRegistry);
+
+        assertEquals(List.of(upper), List.copyOf(unbatched.findAllById(List.of(upper)).keySet()));
+    }
+
+    @Test
+    void shouldFailEveryWaiterWhenQueryFails() {
+
+        when(userRepository.findAllById(anyIterable())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        UserLookupBatcher batcher = batcher(Duration.ofSeconds(30), 2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Optional<User>> first = executor.submit(() -> batcher.findById("1"));
+        Future<Optional<User>> second = executor.submit(() -> batcher.findById("2"));
+
+        for (Future<Optional<User>> future : List.of(first, second)) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(DataAccessResourceFailureException.class, ex.getCause());
+        }
+        executor.shutdown();
+
+        verify(userRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void shouldGoStraightToRepositoryWhenDisabled() {
+
+        when(userRepository.findById("1")).thenReturn(Optional.of(User.builder().id("1").build()));
+
+        UserLookupBatcher batcher = new UserLookupBatcher(userRepository, false, Duration.ofSeconds(30), 100, meterRegistry);
+
+        assertEquals("1", batcher.findById("1").orElseThrow().getId());
+        verify(userRepository, never()).findAllById(anyIterable());
+    }
+}
@@ -0,0 +1,258 @@
+package com.usermanagementsystem.repository.embedded;
+
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserField;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.BulkInsertResult;
+import com.usermanagementsystem.repository.StatusChange;
+import com.usermanagementsystem.repository.UserFilter;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddedUserRepositoryTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedUserStore store;
+
+    private EmbeddedUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private void open() {
+        store = new EmbeddedUserStore(directory, false, 4096);
+        repository = new EmbeddedUserRepository(store);
+    }
+
+    // Simulates a crash: the log is flushed but no snapshot is written on the way down
+    private void crashAndReopen() {
+        store.force();
+        open();
+    }
+
+    private User user(int i, UserStatus status) {
+        return User.builder()
+                .name("User " + i)
+                .email("user" + i + "@example.com")
+                .status(status)
+                .createdAt(START.plusSeconds(i))
+                .build();
+    }
+
+    @Test
+    void shouldAssignIdTimestampsAndVersionOnInsert() {
+
+        User saved = repository.insert(User.builder().name("Ann").email("ann@example.com").status(UserStatus.ACTIVE).build());
+
+        assertTrue(ObjectId.isValid(saved.getId()));
+        assertNotNull(saved.getCreatedAt());
+        assertEquals(saved.getCreatedAt(), saved.getUpdatedAt());
+        assertEquals(0L, saved.getVersion());
+        assertEquals("Ann", repository.findById(saved.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void shouldRejectDuplicateEmail() {
+
+        repository.insert(user(1, UserStatus.ACTIVE));
+
+        User duplicate = User.builder().name("Other").email("user1@example.com").build();
+
+        assertThrows(DuplicateKeyException.class, () -> repository.insert(duplicate));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void shouldNotExposeStoredInstances() {
+
+        User saved = repository.insert(user(1, UserStatus.ACTIVE));
+        repository.findById(saved.getId()).orElseThrow().setName("changed");
+        saved.setName("changed too");
+
+        assertEquals("User 1", repository.findById(saved.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void shouldCheckVersionOnSave() {
+
+        User saved = repository.insert(user(1, UserStatus.ACTIVE));
+
+        User stale = repository.findById(saved.getId()).orElseThrow();
+        User current = repository.findById(saved.getId()).orElseThrow();
+        current.setName("renamed");
+        repository.save(current);
+
+        assertEquals(1L, current.getVersion());
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(stale));
+    }
+
+    @Test
+    void shouldUpdateStatusOnlyForMatchingVersion() {
+
+        User saved = repository.insert(user(1, UserStatus.ACTIVE));
+
+        assertTrue(repository.updateStatus(saved.getId(), UserStatus.BLOCKED, 5L).isEmpty());
+
+        StatusChange change = repository.updateStatus(saved.getId(), UserStatus.BLOCKED, 0L).orElseThrow();
+
+        assertEquals(UserStatus.ACTIVE, change.previousStatus());
+        assertEquals(UserStatus.BLOCKED, change.user().getStatus());
+        assertEquals(1L, change.user().getVersion());
+        assertEquals(Map.of(UserStatus.BLOCKED, 1L), repository.countByStatus());
+    }
+
+    @Test
+    void shouldPageNewestFirstWithFilters() {
+
+        for (int i = 0; i < 30; i++) {
+            repository.insert(user(i, i % 2 == 0 ? UserStatus.ACTIVE : UserStatus.INACTIVE));
+        }
+
+        UserFilter activeOnly = new UserFilter(UserStatus.ACTIVE, null, null, null);
+        List<UserResponse> active = repository.findResponses(activeOnly, 0, 10, null);
+
+        assertEquals(15, repository.countUsers(activeOnly));
+        assertEquals(List.of("User 28", "User 26", "User 24"),
+                active.stream().limit(3).map(UserResponse::getName).toList());
+
+        // createdFrom inclusive, createdTo exclusive
+        List<UserResponse> range = repository.findResponses(
+                new UserFilter(null, null, START.plusSeconds(10), START.plusSeconds(13)), 0, 10, null);
+
+        assertEquals(List.of("User 12", "User 11", "User 10"), range.stream().map(UserResponse::getName).toList());
+
+        assertEquals(11, repository.countUsers(new UserFilter(null, "USER2", null, null)));
+    }
+
+    @Test
+    void shouldSeekPastAnchorAndProjectFields() {
+
+        for (int i = 0; i < 5; i++) {
+            repository.insert(user(i, UserStatus.ACTIVE));
+        }
+
+        User anchor = repository.findPageAfter(null, null, null, 2).get(1);
+        List<User> next = repository.findPageAfter(anchor.getCreatedAt(), anchor.getId(), null, 10);
+
+        assertEquals(List.of("User 2", "User 1", "User 0"), next.stream().map(User::getName).toList());
+
+        User projected = repository.findProjectedById(anchor.getId(), EnumSet.of(UserField.NAME)).orElseThrow();
+
+        assertEquals(anchor.getId(), projected.getId());
+        assertEquals("User 3", projected.getName());
+        assertNull(projected.getEmail());
+        assertNull(projected.getVersion());
+    }
+
+    @Test
+    void shouldReportDuplicatesInUnorderedInsert() {
+
+        BulkInsertResult result = repository.insertUnordered(List.of(
+                user(1, UserStatus.ACTIVE),
+                user(1, UserStatus.ACTIVE),
+                user(2, UserStatus.ACTIVE)
+        ));
+
+        assertEquals(2, result.insertedCount());
+        assertEquals(Map.of(1, "User with this email already exists"), result.failures());
+    }
+
+    @Test
+    void shouldRecoverFromLogAfterCrash() {
+
+        User kept = repository.insert(user(1, UserStatus.ACTIVE));
+        User removed = repository.insert(user(2, UserStatus.ACTIVE));
+        repository.updateStatus(kept.getId(), UserStatus.BLOCKED, null);
+        repository.removeById(removed.getId());
+
+        crashAndReopen();
+
+        assertEquals(1, repository.count());
+        User recovered = repository.findById(kept.getId()).orElseThrow();
+        assertEquals(UserStatus.BLOCKED, recovered.getStatus());
+        assertEquals(1L, recovered.getVersion());
+        assertEquals(Optional.empty(), repository.findByEmail("user2@example.com"));
+    }
+
+    @Test
+    void shouldRecoverFromSnapshotAndNewerLog() throws IOException {
+
+        for (int i = 0; i < 100; i++) {
+            repository.insert(user(i, UserStatus.ACTIVE));
+        }
+        store.snapshot();
+
+        User late = repository.insert(user(100, UserStatus.INACTIVE));
+
+        // Only the generation written after the snapshot is left
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(path -> path.toString().endsWith(".log")).count());
+        }
+
+        crashAndReopen();
+
+        assertEquals(101, repository.count());
+        assertEquals(UserStatus.INACTIVE, repository.findById(late.getId()).orElseThrow().getStatus());
+        assertEquals(Map.of(UserStatus.ACTIVE, 100L, UserStatus.INACTIVE, 1L), repository.countByStatus());
+    }
+
+    @Test
+    void shouldStopReplayAtTornRecord() throws IOException {
+
+        User intact = repository.insert(user(1, UserStatus.ACTIVE));
+        User torn = repository.insert(user(2, UserStatus.ACTIVE));
+        store.force();
+
+        Path log;
+        try (Stream<Path> files = Files.list(directory)) {
+            log = files.filter(path -> path.toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+
+        // Records are [length][crc][type][payload]; flip the last payload byte of the second one
+        int intactBytes = 8 + 1 + UserCodec.encode(intact).length;
+        int tornPayload = UserCodec.encode(torn).length;
+
+        try (RandomAccessFile file = new RandomAccessFile(log.toFile(), "rw")) {
+            long position = intactBytes + 8 + tornPayload;
+            file.seek(position);
+            int value = file.read();
+            file.seek(position);
+            file.write(value ^ 0xFF);
+        }
+
+        open();
+
+        assertEquals(1, repository.count());
+        assertTrue(repository.findByEmail("user1@example.com").isPresent());
+    }
+}
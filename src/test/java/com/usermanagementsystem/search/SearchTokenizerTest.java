@@ -0,0 +1,49 @@
+package com.usermanagementsystem.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTokenizerTest {
+
+    @Test
+    void shouldIndexLowercaseBigramsAndTrigrams() {
+
+        List<String> tokens = SearchTokenizer.indexTokens("Sai", "S@x.io");
+
+        assertTrue(tokens.contains("sa"));
+        assertTrue(tokens.contains("sai"));
+        assertTrue(tokens.contains("@x."));
+        assertFalse(tokens.contains("s"));
+        assertFalse(tokens.contains("Sai"));
+    }
+
+    @Test
+    void shouldNotDuplicateTokens() {
+
+        List<String> tokens = SearchTokenizer.indexTokens("aaaa", "aaaa");
+
+        assertEquals(List.of("aa", "aaa"), tokens);
+    }
+
+    @Test
+    void shouldUseWholeTermWhenShorterThanTrigram() {
+
+        assertEquals(List.of("sa"), SearchTokenizer.queryTokens(" SA "));
+        assertEquals(List.of("sai"), SearchTokenizer.queryTokens("Sai"));
+    }
+
+    @Test
+    void shouldSplitLongTermIntoTrigrams() {
+
+        assertEquals(List.of("sai", "aik", "iki"), SearchTokenizer.queryTokens("saiki"));
+    }
+
+    @Test
+    void shouldSkipIndexForSingleCharacter() {
+
+        assertTrue(SearchTokenizer.queryTokens("s").isEmpty());
+    }
+}
@@ -0,0 +1,112 @@
+package com.usermanagementsystem.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagementsystem.changes.UserChangedEvent;
+import com.usermanagementsystem.dto.BulkImportResponse;
+import com.usermanagementsystem.enums.DataFormat;
+import com.usermanagementsystem.exception.InvalidImportException;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.BulkInsertResult;
+import com.usermanagementsystem.repository.UserRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkImportServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BulkImportServiceImpl bulkImportService;
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        bulkImportService = new BulkImportServiceImpl(userRepository, validator, new ObjectMapper(), eventPublisher, 2, 10);
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldInsertNdjsonInBatches() {
+
+        when(userRepository.insertUnordered(anyList()))
+                .thenAnswer(invocation -> new BulkInsertResult(((List<User>) invocation.getArgument(0)).size(), Map.of()));
+
+        BulkImportResponse response = bulkImportService.importUsers(body("""
+                {"name":"A","email":"a@test.com"}
+                {"name":"B","email":"b@test.com"}
+                {"name":"C","email":"c@test.com"}
+                """), DataFormat.NDJSON);
+
+        assertEquals(3, response.getTotalRows());
+        assertEquals(3, response.getInserted());
+        assertEquals(0, response.getFailed());
+        verify(userRepository, times(2)).insertUnordered(anyList());
+    }
+
+    @Test
+    void shouldReportInvalidAndDuplicateRowsWithoutAbortingBatch() {
+
+        when(userRepository.insertUnordered(anyList()))
+                .thenReturn(new BulkInsertResult(1, Map.of(1, "User with this email already exists")));
+
+        BulkImportResponse response = bulkImportService.importUsers(body("""
+                {"name":"A","email":"a@test.com"}
+                {"name":"","email":"b@test.com"}
+                not json
+                {"name":"C","email":"a@test.com"}
+                """), DataFormat.NDJSON);
+
+        assertEquals(4, response.getTotalRows());
+        assertEquals(1, response.getInserted());
+        assertEquals(3, response.getFailed());
+        assertEquals(List.of(2L, 3L, 4L), response.getErrors().stream().map(e -> e.getRow()).toList());
+        assertEquals("User with this email already exists", response.getErrors().get(2).getMessage());
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void shouldReadCsvColumnsByHeader() {
+
+        when(userRepository.insertUnordered(anyList()))
+                .thenReturn(new BulkInsertResult(1, Map.of()));
+
+        BulkImportResponse response = bulkImportService.importUsers(body("""
+                email,name
+                sai@test.com,"Gudipelly, Sai"
+                """), DataFormat.CSV);
+
+        assertEquals(1, response.getInserted());
+        verify(userRepository).insertUnordered(argThat(users ->
+                users.size() == 1 && users.get(0).getName().equals("Gudipelly, Sai")));
+    }
+
+    @Test
+    void shouldRejectCsvWithoutRequiredColumns() {
+
+        assertThrows(InvalidImportException.class,
+                () -> bulkImportService.importUsers(body("id,email\n1,a@test.com\n"), DataFormat.CSV));
+    }
+}
@@ -0,0 +1,200 @@
+package com.usermanagementsystem.serviceImpl;
+
+import com.usermanagementsystem.cache.UserCache;
+import com.usermanagementsystem.changes.UserChangedEvent;
+import com.usermanagementsystem.dto.BulkStatusOutcome;
+import com.usermanagementsystem.dto.BulkStatusUpdateRequest;
+import com.usermanagementsystem.enums.BulkOutcome;
+import com.usermanagementsystem.enums.JobState;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.exception.BulkJobNotFoundException;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkStatusServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private UserCache userCache;
+
+    private BulkStatusServiceImpl bulkStatusService;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(100, Duration.ofMinutes(1), true);
+        bulkStatusService = new BulkStatusServiceImpl(
+                userRepository, userCache, new SyncTaskExecutor(), eventPublisher, 2, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    void shouldReportPerIdOutcomes() {
+
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest();
+        request.setStatus(UserStatus.BLOCKED);
+        request.setIds(List.of("1", "2", "3"));
+
+        when(userRepository.findStatusesByIds(List.of("1", "2"))).thenReturn(List.of(
+                User.builder().id("1").status(UserStatus.ACTIVE).build(),
+                User.builder().id("2").status(UserStatus.BLOCKED).build()
+        ));
+        when(userRepository.findStatusesByIds(List.of("3"))).thenReturn(List.of());
+        when(userRepository.updateStatusesFrom(Map.of("1", UserStatus.ACTIVE), UserStatus.BLOCKED))
+                .thenReturn(Set.of("1"));
+
+        var response = bulkStatusService.updateStatuses(request);
+
+        assertEquals(JobState.COMPLETED, response.getState());
+        assertEquals(1, response.getUpdated());
+        assertEquals(1, response.getUnchanged());
+        assertEquals(1, response.getNotFound());
+        assertTrue(response.getOutcomes().contains(new BulkStatusOutcome("3", BulkOutcome.NOT_FOUND)));
+        verify(userRepository, times(1)).updateStatusesFrom(anyMap(), eq(UserStatus.BLOCKED));
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void shouldReportUsersChangedConcurrentlyAsUnchanged() {
+
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest();
+        request.setStatus(UserStatus.BLOCKED);
+        request.setIds(List.of("1", "2"));
+
+        when(userRepository.findStatusesByIds(List.of("1", "2"))).thenReturn(List.of(
+                User.builder().id("1").status(UserStatus.ACTIVE).build(),
+                User.builder().id("2").status(UserStatus.ACTIVE).build()
+        ));
+        // "2" moved on between the read and the write
+        when(userRepository.updateStatusesFrom(anyMap(), eq(UserStatus.BLOCKED))).thenReturn(Set.of("1"));
+
+        var response = bulkStatusService.updateStatuses(request);
+
+        assertEquals(1, response.getUpdated());
+        assertEquals(1, response.getUnchanged());
+        assertTrue(response.getOutcomes().contains(new BulkStatusOutcome("2", BulkOutcome.UNCHANGED)));
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void shouldRecordRepeatedIdsOnce() {
+
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest();
+        request.setStatus(UserStatus.BLOCKED);
+        request.setIds(List.of("1", "1", "2"));
+
+        when(userRepository.findStatusesByIds(List.of("1", "2"))).thenReturn(List.of(
+                User.builder().id("1").status(UserStatus.ACTIVE).build()
+        ));
+        when(userRepository.updateStatusesFrom(Map.of("1", UserStatus.ACTIVE), UserStatus.BLOCKED))
+                .thenReturn(Set.of("1"));
+
+        var response = bulkStatusService.updateStatuses(request);
+
+        assertEquals(2, response.getProcessed());
+        assertEquals(1, response.getUpdated());
+        assertEquals(1, response.getNotFound());
+        assertEquals(2, response.getOutcomes().size());
+    }
+
+    @Test
+    void shouldMatchIdsWhateverTheirHexCase() {
+
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest();
+        request.setStatus(UserStatus.BLOCKED);
+        request.setIds(List.of("665F1C2AB3E4D5F6A7B8C9D0", "665f1c2ab3e4d5f6a7b8c9d0"));
+
+        String id = "665f1c2ab3e4d5f6a7b8c9d0";
+        when(userRepository.findStatusesByIds(List.of(id))).thenReturn(List.of(
+                User.builder().id(id).status(UserStatus.ACTIVE).build()
+        ));
+        when(userRepository.updateStatusesFrom(Map.of(id, UserStatus.ACTIVE), UserStatus.BLOCKED))
+                .thenReturn(Set.of(id));
+
+        var response = bulkStatusService.updateStatuses(request);
+
+        assertEquals(1, response.getProcessed());
+        assertEquals(1, response.getUpdated());
+        assertEquals(0, response.getNotFound());
+    }
+
+    @Test
+    void shouldPageThroughFilterMatchesInBatches() {
+
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest();
+        request.setStatus(UserStatus.BLOCKED);
+        request.setCurrentStatus(UserStatus.ACTIVE);
+
+        when(userRepository.findStatusChangeCandidates(UserStatus.ACTIVE, null, null, UserStatus.BLOCKED, null, 2))
+                .thenReturn(List.of(
+                        User.builder().id("1").status(UserStatus.ACTIVE).build(),
+                        User.builder().id("2").status(UserStatus.ACTIVE).build()));
+        when(userRepository.findStatusChangeCandidates(UserStatus.ACTIVE, null, null, UserStatus.BLOCKED, "2", 2))
+                .thenReturn(List.of(User.builder().id("3").status(UserStatus.ACTIVE).build()));
+        when(userRepository.updateStatusesFrom(anyMap(), eq(UserStatus.BLOCKED)))
+                .thenReturn(Set.of("1", "2"))
+                .thenReturn(Set.of());
+
+        var response = bulkStatusService.updateStatuses(request);
+
+        assertEquals(3, response.getProcessed());
+        assertEquals(2, response.getUpdated());
+        assertEquals(1, response.getUnchanged());
+        assertNull(response.getOutcomes());
+        verify(eventPublisher, times(2)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void shouldExposeJobForPolling() {
+
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest();
+        request.setStatus(UserStatus.INACTIVE);
+        request.setIds(List.of("1"));
+        request.setAsync(true);
+
+        when(userRepository.findStatusesByIds(List.of("1"))).thenReturn(List.of());
+
+        var started = bulkStatusService.updateStatuses(request);
+        var polled = bulkStatusService.getJob(started.getJobId());
+
+        assertEquals(JobState.COMPLETED, polled.getState());
+        assertEquals(1, polled.getNotFound());
+    }
+
+    @Test
+    void shouldNotKeepSynchronousJobs() {
+
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest();
+        request.setStatus(UserStatus.INACTIVE);
+        request.setIds(List.of("1"));
+
+        when(userRepository.findStatusesByIds(List.of("1"))).thenReturn(List.of());
+
+        var response = bulkStatusService.updateStatuses(request);
+
+        assertThrows(BulkJobNotFoundException.class, () -> bulkStatusService.getJob(response.getJobId()));
+    }
+
+    @Test
+    void shouldThrowForUnknownJob() {
+        assertThrows(BulkJobNotFoundException.class, () -> bulkStatusService.getJob("missing"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.usermanagementsystem.serviceImpl;
+
+import com.usermanagementsystem.dto.QueryPlanReport;
+import com.usermanagementsystem.repository.UserFilter;
+import com.usermanagementsystem.repository.UserRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryPlanServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private QueryPlanServiceImpl queryPlanService;
+
+    private static Document explain(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+
+    @Test
+    void shouldReportIndexBackedPlan() {
+
+        Document plan = new Document("stage", "LIMIT")
+                .append("inputStage", new Document("stage", "FETCH")
+                        .append("inputStage", new Document("stage", "IXSCAN")
+                                .append("indexName", "status_createdAt_id_idx")));
+
+        // The first page the list endpoint reads by default: 10 rows plus the look-ahead row, every field
+        when(userRepository.explainFindResponses(any(UserFilter.class), eq(0L), eq(11), isNull())).thenReturn(explain(plan));
+
+        QueryPlanReport report = queryPlanService.explain(new UserFilter(null, null, null, null));
+
+        assertEquals(List.of("LIMIT", "FETCH", "IXSCAN"), report.getStages());
+        assertEquals(List.of("status_createdAt_id_idx"), report.getIndexes());
+        assertTrue(report.isIndexed());
+    }
+
+    @Test
+    void shouldFlagCollectionScanAndBlockingSort() {
+
+        Document plan = new Document("stage", "SORT")
+                .append("inputStage", new Document("stage", "COLLSCAN"));
+
+        when(userRepository.explainFindResponses(any(UserFilter.class), anyLong(), anyInt(), isNull())).thenReturn(explain(plan));
+
+        List<QueryPlanReport> reports = queryPlanService.explainQueryShapes();
+
+        assertFalse(reports.isEmpty());
+        assertTrue(reports.stream().allMatch(QueryPlanReport::isCollectionScan));
+        assertTrue(reports.stream().allMatch(QueryPlanReport::isInMemorySort));
+        assertTrue(reports.stream().noneMatch(QueryPlanReport::isIndexed));
+    }
+
+    @Test
+    void shouldAllowInMemorySortForIndexedSearch() {
+
+        Document plan = new Document("stage", "SORT")
+                .append("inputStage", new Document("stage", "FETCH")
+                        .append("inputStage", new Document("stage", "AND_SORTED")
+                                .append("inputStages", List.of(
+                                        new Document("stage", "IXSCAN").append("indexName", "searchTokens_createdAt_id_idx"),
+                                        new Document("stage", "IXSCAN").append("indexName", "searchTokens_createdAt_id_idx")
+                                ))));
+
+        when(userRepository.explainFindResponses(any(UserFilter.class), anyLong(), anyInt(), isNull())).thenReturn(explain(plan));
+
+        QueryPlanReport report = queryPlanService.explain(new UserFilter(null, "sai", null, null));
+
+        assertTrue(report.isInMemorySort());
+        assertTrue(report.isIndexed());
+        assertEquals(List.of("searchTokens_createdAt_id_idx"), report.getIndexes());
+    }
+}
@@ -0,0 +1,116 @@
+package com.usermanagementsystem.serviceImpl;
+
+import com.usermanagementsystem.cache.UserCache;
+import com.usermanagementsystem.dto.CreateUserRequest;
+import com.usermanagementsystem.dto.UpdateUserStatusRequest;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.exception.DuplicateUserException;
+import com.usermanagementsystem.exception.PreconditionFailedException;
+import com.usermanagementsystem.exception.UserNotFoundException;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.ReactiveUserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveUserServiceImplTest {
+
+    @Mock
+    private ReactiveUserRepository reactiveUserRepository;
+
+    @Spy
+    private UserCache userCache = new UserCache(100, Duration.ofMinutes(1), true);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ReactiveUserServiceImpl reactiveUserService;
+
+    @Test
+    void shouldCreateUserWithNormalizedEmail() {
+
+        CreateUserRequest request = new CreateUserRequest();
+        request.setName("Sai");
+        request.setEmail("Sai@Gmail.com");
+
+        when(reactiveUserRepository.insert(any(User.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(reactiveUserService.createUser(request))
+                .expectNextMatches(user -> user.getEmail().equals("sai@gmail.com")
+                        && user.getStatus() == UserStatus.ACTIVE)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldMapDuplicateKeyToDuplicateUser() {
+
+        CreateUserRequest request = new CreateUserRequest();
+        request.setName("Sai");
+        request.setEmail("sai@gmail.com");
+
+        when(reactiveUserRepository.insert(any(User.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        StepVerifier.create(reactiveUserService.createUser(request))
+                .verifyError(DuplicateUserException.class);
+    }
+
+    @Test
+    void shouldSignalUserNotFoundOnMissingId() {
+
+        when(reactiveUserRepository.findById("1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveUserService.getUserById("1"))
+                .verifyError(UserNotFoundException.class);
+    }
+
+    @Test
+    void shouldSignalPreconditionFailedOnStaleVersion() {
+
+        UpdateUserStatusRequest request = new UpdateUserStatusRequest();
+        request.setStatus(UserStatus.BLOCKED);
+
+        when(reactiveUserRepository.updateStatus("1", UserStatus.BLOCKED, 2L)).thenReturn(Mono.empty());
+        when(reactiveUserRepository.existsById("1")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(reactiveUserService.updateUserStatus("1", request, 2L))
+                .verifyError(PreconditionFailedException.class);
+    }
+
+    @Test
+    void shouldStreamUsersWithBackpressure() {
+
+        when(reactiveUserRepository.streamUsers(UserStatus.ACTIVE, null, 5)).thenReturn(Flux.range(1, 5)
+                .map(i -> User.builder().id(String.valueOf(i)).status(UserStatus.ACTIVE).build()));
+
+        StepVerifier.create(reactiveUserService.streamUsers(UserStatus.ACTIVE, null, 5), 2)
+                .expectNextCount(2)
+                .thenRequest(3)
+                .expectNextCount(3)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldSignalUserNotFoundWhenNothingDeleted() {
+
+        when(reactiveUserRepository.removeById("1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveUserService.deleteUser("1"))
+                .verifyError(UserNotFoundException.class);
+    }
+}
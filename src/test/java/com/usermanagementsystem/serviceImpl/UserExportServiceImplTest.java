@@ -0,0 +1,86 @@
+package com.usermanagementsystem.serviceImpl;
+
+import com.usermanagementsystem.enums.DataFormat;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserExportServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserExportServiceImpl userExportService;
+
+    private static User user(String id, String name) {
+        return User.builder()
+                .id(id)
+                .name(name)
+                .email(id + "@test.com")
+                .status(UserStatus.ACTIVE)
+                .createdAt(Instant.parse("2025-01-01T00:00:00Z"))
+                .version(2L)
+                .build();
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws Exception {
+
+        when(userRepository.streamForExport(UserStatus.ACTIVE, 500))
+                .thenReturn(Stream.of(user("a", "Sai"), user("b", "Kiran")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = userExportService.exportUsers(out, DataFormat.NDJSON, UserStatus.ACTIVE, 500);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(2, written);
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":\"a\",\"name\":\"Sai\",\"email\":\"a@test.com\",\"status\":\"ACTIVE\","
+                + "\"createdAt\":\"2025-01-01T00:00:00Z\",\"version\":2}", lines[0]);
+    }
+
+    @Test
+    void shouldQuoteCsvFieldsThatNeedIt() throws Exception {
+
+        when(userRepository.streamForExport(null, 1000))
+                .thenReturn(Stream.of(user("a", "Gudipelly, \"Sai\"")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userExportService.exportUsers(out, DataFormat.CSV, null, 1000);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals("id,name,email,status,createdAt,updatedAt,version", lines[0]);
+        assertEquals("a,\"Gudipelly, \"\"Sai\"\"\",a@test.com,ACTIVE,2025-01-01T00:00:00Z,,2", lines[1]);
+    }
+
+    @Test
+    void shouldCloseCursorWhenDone() throws Exception {
+
+        AtomicBoolean closed = new AtomicBoolean();
+
+        when(userRepository.streamForExport(null, 1000))
+                .thenReturn(Stream.of(user("a", "Sai")).onClose(() -> closed.set(true)));
+
+        userExportService.exportUsers(new ByteArrayOutputStream(), DataFormat.NDJSON, null, 1000);
+
+        assertTrue(closed.get());
+    }
+}
@@ -1,21 +1,49 @@
 package com.usermanagementsystem.serviceImpl;
 
+import com.usermanagementsystem.cache.UserCache;
+import com.usermanagementsystem.changes.UserChangedEvent;
 import com.usermanagementsystem.dto.CreateUserRequest;
 import com.usermanagementsystem.dto.UpdateUserStatusRequest;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.enums.UserField;
 import com.usermanagementsystem.enums.UserStatus;
 import com.usermanagementsystem.exception.DuplicateUserException;
+import com.usermanagementsystem.exception.InvalidCursorException;
+import com.usermanagementsystem.exception.InvalidIdsException;
+import com.usermanagementsystem.exception.PreconditionFailedException;
 import com.usermanagementsystem.exception.UserNotFoundException;
 import com.usermanagementsystem.model.User;
+import com.usermanagementsystem.repository.StatusChange;
+import com.usermanagementsystem.repository.UserFilter;
+import com.usermanagementsystem.repository.UserLookupBatcher;
 import com.usermanagementsystem.repository.UserRepository;
+import com.usermanagementsystem.util.CursorCodec;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,9 +54,25 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserCache userCache = new UserCache(100, Duration.ofMinutes(1), true);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserLookupBatcher userLookupBatcher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
+    // Batching itself is covered by UserLookupBatcherTest, here lookups go straight to the repository
+    @BeforeEach
+    void setUp() {
+        lenient().when(userLookupBatcher.findById(anyString()))
+                .thenAnswer(invocation -> userRepository.findById(invocation.getArgument(0)));
+    }
+
     @Test
     void shouldCreateUserSuccessfully() {
 
@@ -36,9 +80,6 @@ class UserServiceImplTest {
         request.setName("Sai");
         request.setEmail("sai@gmail.com");
 
-        when(userRepository.findByEmail(request.getEmail()))
-                .thenReturn(Optional.empty());
-
         User savedUser = User.builder()
                 .id("1")
                 .name("Sai")
@@ -46,14 +87,29 @@ class UserServiceImplTest {
                 .status(UserStatus.ACTIVE)
                 .build();
 
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userRepository.insert(any(User.class))).thenReturn(savedUser);
 
         var response = userService.createUser(request);
 
         assertEquals("Sai", response.getName());
         assertEquals(UserStatus.ACTIVE, response.getStatus());
 
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).insert(any(User.class));
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void shouldNormalizeEmailBeforeInsert() {
+
+        CreateUserRequest request = new CreateUserRequest();
+        request.setName("Sai");
+        request.setEmail("  Sai@Gmail.COM ");
+
+        when(userRepository.insert(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var response = userService.createUser(request);
+
+        assertEquals("sai@gmail.com", response.getEmail());
     }
 
     @Test
@@ -63,13 +119,68 @@ class UserServiceImplTest {
         request.setName("Sai");
         request.setEmail("sai@gmail.com");
 
-        when(userRepository.findByEmail(request.getEmail()))
-                .thenReturn(Optional.of(new User()));
+        when(userRepository.insert(any(User.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
 
         assertThrows(DuplicateUserException.class,
                 () -> userService.createUser(request));
     }
 
+    @Test
+    void shouldLetExactlyOneConcurrentCreateWin() throws Exception {
+
+        // Stands in for the unique email index
+        Set<String> emailIndex = ConcurrentHashMap.newKeySet();
+
+        when(userRepository.insert(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            if (!emailIndex.add(user.getEmail())) {
+                throw new DuplicateKeyException("E11000 duplicate key error");
+            }
+            user.setId(UUID.randomUUID().toString());
+            return user;
+        });
+
+        int threads = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger duplicates = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> results = new ArrayList<>();
+
+            for (int i = 0; i < threads; i++) {
+                String email = i % 2 == 0 ? "race@gmail.com" : "RACE@gmail.com";
+                results.add(executor.submit(() -> {
+                    CreateUserRequest request = new CreateUserRequest();
+                    request.setName("Racer");
+                    request.setEmail(email);
+
+                    start.await();
+                    try {
+                        userService.createUser(request);
+                        created.incrementAndGet();
+                    } catch (DuplicateUserException ex) {
+                        duplicates.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<?> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, created.get());
+        assertEquals(threads - 1, duplicates.get());
+    }
+
     @Test
     void shouldGetUserByIdSuccessfully() {
 
@@ -87,6 +198,121 @@ class UserServiceImplTest {
         assertEquals("Sai", response.getName());
     }
 
+    @Test
+    void shouldServeBatchFromCacheAndOneLookupInRequestOrder() {
+
+        User cached = User.builder().id("1").name("Sai").email("sai@gmail.com").status(UserStatus.ACTIVE).build();
+        User loaded = User.builder().id("2").name("Kiran").email("kiran@gmail.com").status(UserStatus.ACTIVE).build();
+
+        when(userRepository.findById("1")).thenReturn(Optional.of(cached));
+        userService.getUserById("1");
+
+        when(userLookupBatcher.findAllById(List.of("2", "3"))).thenReturn(Map.of("2", loaded));
+
+        var response = userService.getUsersByIds(List.of("2", "1", "3", "2"));
+
+        assertEquals(List.of("2", "1"), response.stream().map(user -> user.getId()).toList());
+        verify(userLookupBatcher, times(1)).findAllById(anyCollection());
+    }
+
+    @Test
+    void shouldRejectOversizedBatch() {
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i <= UserServiceImpl.MAX_BATCH_IDS; i++) {
+            ids.add(String.valueOf(i));
+        }
+
+        assertThrows(InvalidIdsException.class, () -> userService.getUsersByIds(ids));
+        verifyNoInteractions(userLookupBatcher);
+    }
+
+    @Test
+    void shouldReadOnlySelectedFieldsOnCacheMiss() {
+
+        Set<UserField> fields = EnumSet.of(UserField.ID, UserField.NAME);
+
+        when(userRepository.findProjectedById("1", fields))
+                .thenReturn(Optional.of(User.builder().id("1").name("Sai").build()));
+
+        var response = userService.getUserById("1", fields);
+
+        assertEquals("Sai", response.getName());
+        assertNull(response.getEmail());
+        verify(userRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void shouldTrimCachedUserToSelectedFields() {
+
+        User user = User.builder()
+                .id("1")
+                .name("Sai")
+                .email("sai@gmail.com")
+                .status(UserStatus.ACTIVE)
+                .build();
+
+        when(userRepository.findById("1")).thenReturn(Optional.of(user));
+        userService.getUserById("1");
+
+        var response = userService.getUserById("1", EnumSet.of(UserField.EMAIL));
+
+        assertEquals("sai@gmail.com", response.getEmail());
+        assertNull(response.getId());
+        assertNull(response.getStatus());
+        verify(userRepository, never()).findProjectedById(anyString(), any());
+    }
+
+    @Test
+    void shouldServeRepeatedGetByIdFromCache() {
+
+        User user = User.builder()
+                .id("1")
+                .name("Sai")
+                .email("sai@gmail.com")
+                .status(UserStatus.ACTIVE)
+                .build();
+
+        when(userRepository.findById("1")).thenReturn(Optional.of(user));
+
+        userService.getUserById("1");
+        userService.getUserById("1");
+
+        verify(userRepository, times(1)).findById("1");
+    }
+
+    @Test
+    void shouldInvalidateCacheOnStatusUpdate() {
+
+        User user = User.builder()
+                .id("1")
+                .name("Sai")
+                .email("sai@gmail.com")
+                .status(UserStatus.ACTIVE)
+                .build();
+
+        User blocked = User.builder()
+                .id("1")
+                .name("Sai")
+                .email("sai@gmail.com")
+                .status(UserStatus.BLOCKED)
+                .build();
+
+        when(userRepository.findById("1"))
+                .thenReturn(Optional.of(user))
+                .thenReturn(Optional.of(blocked));
+        when(userRepository.updateStatus("1", UserStatus.BLOCKED, null))
+                .thenReturn(Optional.of(new StatusChange(UserStatus.ACTIVE, blocked)));
+
+        userService.getUserById("1");
+
+        UpdateUserStatusRequest request = new UpdateUserStatusRequest();
+        request.setStatus(UserStatus.BLOCKED);
+        userService.updateUserStatus("1", request, null);
+
+        assertEquals(UserStatus.BLOCKED, userService.getUserById("1").getStatus());
+    }
+
     @Test
     void shouldThrowUserNotFoundWhenGetById() {
 
@@ -103,72 +329,184 @@ class UserServiceImplTest {
                 .id("1")
                 .name("Sai")
                 .email("sai@gmail.com")
-                .status(UserStatus.ACTIVE)
+                .status(UserStatus.BLOCKED)
+                .version(1L)
                 .build();
 
-        when(userRepository.findById("1")).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.updateStatus("1", UserStatus.BLOCKED, null))
+                .thenReturn(Optional.of(new StatusChange(UserStatus.ACTIVE, user)));
 
         UpdateUserStatusRequest request = new UpdateUserStatusRequest();
         request.setStatus(UserStatus.BLOCKED);
 
-        var response = userService.updateUserStatus("1", request);
+        var response = userService.updateUserStatus("1", request, null);
 
         assertEquals(UserStatus.BLOCKED, response.getStatus());
+        assertEquals(1L, response.getVersion());
+        verify(userRepository, never()).findById(anyString());
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
-    void shouldDeleteUserSuccessfully() {
+    void shouldThrowUserNotFoundWhenUpdatingMissingUser() {
 
-        User user = User.builder().id("1").build();
+        when(userRepository.updateStatus("1", UserStatus.BLOCKED, null)).thenReturn(Optional.empty());
 
-        when(userRepository.findById("1")).thenReturn(Optional.of(user));
+        UpdateUserStatusRequest request = new UpdateUserStatusRequest();
+        request.setStatus(UserStatus.BLOCKED);
+
+        assertThrows(UserNotFoundException.class,
+                () -> userService.updateUserStatus("1", request, null));
+    }
+
+    @Test
+    void shouldRejectStaleVersionOnUpdate() {
+
+        when(userRepository.updateStatus("1", UserStatus.BLOCKED, 3L)).thenReturn(Optional.empty());
+        when(userRepository.existsById("1")).thenReturn(true);
+
+        UpdateUserStatusRequest request = new UpdateUserStatusRequest();
+        request.setStatus(UserStatus.BLOCKED);
+
+        assertThrows(PreconditionFailedException.class,
+                () -> userService.updateUserStatus("1", request, 3L));
+    }
+
+    @Test
+    void shouldDeleteUserSuccessfully() {
+
+        when(userRepository.removeById("1"))
+                .thenReturn(Optional.of(User.builder().id("1").status(UserStatus.ACTIVE).build()));
 
         userService.deleteUser("1");
 
-        verify(userRepository).delete(user);
+        verify(userRepository).removeById("1");
+        verify(userRepository, never()).findById(anyString());
+        verify(eventPublisher).publishEvent(UserChangedEvent.deleted("1", UserStatus.ACTIVE));
     }
 
     @Test
-    void shouldReturnUsersWithPagination() {
+    void shouldThrowUserNotFoundWhenDeletingMissingUser() {
+
+        when(userRepository.removeById("1")).thenReturn(Optional.empty());
 
-        Pageable pageable = PageRequest.of(0,10);
+        assertThrows(UserNotFoundException.class, () -> userService.deleteUser("1"));
+        verifyNoInteractions(eventPublisher);
+    }
 
-        Page<User> mockPage = new PageImpl<>(List.of(
-                User.builder().id("1").name("Sai").email("sai@gmail.com").status(UserStatus.ACTIVE).build()
+    @Test
+    void shouldReturnUsersWithPagination() {
+
+        when(userRepository.findResponses(any(UserFilter.class), eq(0L), eq(11), isNull())).thenReturn(List.of(
+                UserResponse.builder().id("1").name("Sai").email("sai@gmail.com").status(UserStatus.ACTIVE).build()
         ));
 
-        when(userRepository.findAll(any(Pageable.class))).thenReturn(mockPage);
+        var result = userService.getUsers(0,10,null,null,null,null,null,false);
+
+        assertEquals(1, result.getItems().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getTotal());
+        verify(userRepository, never()).countUsers(any());
+    }
+
+    @Test
+    void shouldDetectNextPageFromExtraRowAndCountOnlyWhenAsked() {
+
+        List<UserResponse> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(UserResponse.builder().id(String.valueOf(i)).build());
+        }
+
+        when(userRepository.findResponses(any(UserFilter.class), eq(2L), eq(3), isNull())).thenReturn(rows);
+        when(userRepository.countUsers(any(UserFilter.class))).thenReturn(42L);
 
-        var result = userService.getUsers(0,10,null,null);
+        var result = userService.getUsers(1,2,null,null,null,null,null,true);
 
-        assertEquals(1, result.getTotalElements());
+        assertEquals(List.of("0", "1"), result.getItems().stream().map(UserResponse::getId).toList());
+        assertTrue(result.isHasNext());
+        assertEquals(42L, result.getTotal());
     }
 
     @Test
     void shouldSearchUsersWhenSearchProvided() {
 
-        Pageable pageable = PageRequest.of(0,10);
-
-        Page<User> mockPage = new PageImpl<>(List.of(
-                User.builder()
+        when(userRepository.findResponses(eq(new UserFilter(null, "sai", null, null)), anyLong(), anyInt(), isNull()))
+                .thenReturn(List.of(UserResponse.builder()
                         .id("1")
                         .name("Saikiran")
                         .email("saikiran@gmail.com")
                         .status(UserStatus.ACTIVE)
-                        .build()
-        ));
+                        .build()));
+
+        var result = userService.getUsers(0,10,null,"sai",null,null,null,false);
+
+        assertFalse(result.getItems().isEmpty());
+        assertEquals("Saikiran", result.getItems().get(0).getName());
+    }
+
+    @Test
+    void shouldCombineStatusSearchAndCreatedRange() {
+
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        Instant to = Instant.parse("2026-02-01T00:00:00Z");
+
+        when(userRepository.findResponses(any(UserFilter.class), anyLong(), anyInt(), isNull())).thenReturn(List.of());
 
-        when(userRepository
-                .findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
-                        anyString(),
-                        anyString(),
-                        any(Pageable.class)))
-                .thenReturn(mockPage);
+        userService.getUsers(0, 10, UserStatus.BLOCKED, "sai", from, to, null, false);
 
-        var result = userService.getUsers(0,10,null,"sai");
+        verify(userRepository).findResponses(
+                eq(new UserFilter(UserStatus.BLOCKED, "sai", from, to)),
+                eq(0L),
+                eq(11),
+                isNull()
+        );
+    }
+
+    @Test
+    void shouldReturnNextCursorWhenMoreUsersExist() {
+
+        Instant now = Instant.now();
+
+        List<User> users = List.of(
+                User.builder().id("65f000000000000000000003").name("A").createdAt(now).build(),
+                User.builder().id("65f000000000000000000002").name("B").createdAt(now).build(),
+                User.builder().id("65f000000000000000000001").name("C").createdAt(now).build()
+        );
+
+        when(userRepository.findPageAfter(null, null, null, 3)).thenReturn(users);
+
+        var result = userService.getUsersByCursor("", 2, null);
+
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+
+        CursorCodec.Cursor next = CursorCodec.decode(result.getNextCursor());
+        assertEquals("65f000000000000000000002", next.id());
+        assertEquals(now.toEpochMilli(), next.createdAt().toEpochMilli());
+    }
+
+    @Test
+    void shouldSeekFromCursorPosition() {
+
+        Instant createdAt = Instant.ofEpochMilli(1_700_000_000_000L);
+        String cursor = CursorCodec.encode(createdAt, "65f000000000000000000002");
+
+        when(userRepository.findPageAfter(createdAt, "65f000000000000000000002", UserStatus.ACTIVE, 11))
+                .thenReturn(List.of(
+                        User.builder().id("65f000000000000000000001").name("C").createdAt(createdAt).build()
+                ));
+
+        var result = userService.getUsersByCursor(cursor, 10, UserStatus.ACTIVE);
+
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
 
-        assertFalse(result.isEmpty());
-        assertEquals("Saikiran", result.getContent().get(0).getName());
+        assertThrows(InvalidCursorException.class,
+                () -> userService.getUsersByCursor("not-a-cursor", 10, null));
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.usermanagementsystem.serviceImpl;
+
+import com.usermanagementsystem.changes.UserChangedEvent;
+import com.usermanagementsystem.dto.UserResponse;
+import com.usermanagementsystem.dto.UserStatsResponse;
+import com.usermanagementsystem.enums.UserStatus;
+import com.usermanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatsServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T12:00:00Z");
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserStatsServiceImpl userStatsService;
+
+    @BeforeEach
+    void setUp() {
+        userStatsService = new UserStatsServiceImpl(userRepository, Clock.fixed(NOW, ZoneOffset.UTC), 7);
+    }
+
+    private static UserResponse user(String id, UserStatus status) {
+        return UserResponse.builder().id(id).status(status).createdAt(NOW).build();
+    }
+
+    @Test
+    void shouldApplyChangesIncrementally() {
+
+        userStatsService.onUserChanged(UserChangedEvent.created(user("1", UserStatus.ACTIVE)));
+        userStatsService.onUserChanged(UserChangedEvent.created(user("2", UserStatus.ACTIVE)));
+        userStatsService.onUserChanged(UserChangedEvent.statusChanged(user("1", UserStatus.BLOCKED), UserStatus.ACTIVE));
+        userStatsService.onUserChanged(UserChangedEvent.deleted("2", UserStatus.ACTIVE));
+
+        UserStatsResponse stats = userStatsService.getStats();
+
+        assertEquals(1, stats.getTotal());
+        assertEquals(0L, stats.getByStatus().get(UserStatus.ACTIVE));
+        assertEquals(1L, stats.getByStatus().get(UserStatus.BLOCKED));
+        assertEquals(2L, stats.getDailySignups().get(TODAY));
+        assertEquals(7, stats.getDailySignups().size());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void shouldIgnoreStatusChangeToSameStatus() {
+
+        userStatsService.onUserChanged(UserChangedEvent.created(user("1", UserStatus.ACTIVE)));
+        userStatsService.onUserChanged(UserChangedEvent.statusChanged(user("1", UserStatus.ACTIVE), UserStatus.ACTIVE));
+
+        assertEquals(1L, userStatsService.getStats().getByStatus().get(UserStatus.ACTIVE));
+    }
+
+    @Test
+    void shouldCorrectDriftOnReconcile() {
+
+        userStatsService.onUserChanged(UserChangedEvent.created(user("1", UserStatus.ACTIVE)));
+
+        when(userRepository.countByStatus()).thenReturn(Map.of(UserStatus.ACTIVE, 5L, UserStatus.BLOCKED, 2L));
+        when(userRepository.countSignupsPerDay(TODAY.minusDays(6).atStartOfDay(ZoneOffset.UTC).toInstant()))
+                .thenReturn(Map.of(TODAY.minusDays(1), 3L));
+
+        userStatsService.reconcile();
+
+        UserStatsResponse stats = userStatsService.getStats();
+
+        assertEquals(7, stats.getTotal());
+        assertEquals(5L, stats.getByStatus().get(UserStatus.ACTIVE));
+        assertEquals(3L, stats.getDailySignups().get(TODAY.minusDays(1)));
+        assertEquals(0L, stats.getDailySignups().get(TODAY));
+        assertEquals(NOW, stats.getReconciledAt());
+    }
+
+    @Test
+    void shouldKeepCountersWhenReconcileFails() {
+
+        userStatsService.onUserChanged(UserChangedEvent.created(user("1", UserStatus.ACTIVE)));
+        when(userRepository.countByStatus()).thenThrow(new IllegalStateException("down"));
+
+        userStatsService.reconcile();
+
+        assertEquals(1, userStatsService.getStats().getTotal());
+        assertNull(userStatsService.getStats().getReconciledAt());
+    }
+}